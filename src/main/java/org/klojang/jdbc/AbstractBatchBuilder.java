@@ -0,0 +1,261 @@
+package org.klojang.jdbc;
+
+import org.klojang.check.Check;
+import org.klojang.invoke.BeanReader;
+import org.klojang.invoke.IncludeExclude;
+import org.klojang.jdbc.x.sql.BatchInsertConfig;
+import org.klojang.jdbc.x.sql.UpsertDialect;
+import org.klojang.templates.NameMapper;
+import org.klojang.templates.name.CamelCaseToSnakeUpperCase;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.klojang.check.CommonChecks.gt;
+import static org.klojang.check.CommonChecks.notNull;
+import static org.klojang.check.CommonExceptions.STATE;
+import static org.klojang.invoke.IncludeExclude.EXCLUDE;
+import static org.klojang.invoke.IncludeExclude.INCLUDE;
+import static org.klojang.jdbc.x.Strings.CLAZZ;
+import static org.klojang.jdbc.x.Strings.PROCESSOR;
+import static org.klojang.templates.name.CamelCaseToSnakeUpperCase.camelCaseToSnakeUpperCase;
+import static org.klojang.util.ArrayMethods.EMPTY_STRING_ARRAY;
+
+/**
+ * Holds the configuration options shared by {@link BatchInsertBuilder} and
+ * {@link UpsertBuilder}.
+ *
+ * @param <B> the type of the builder
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+abstract sealed class AbstractBatchBuilder<B extends AbstractBatchBuilder<B>>
+      permits BatchInsertBuilder, UpsertBuilder {
+
+  private BeanValueProcessor processor = BeanValueProcessor.identity();
+  private IncludeExclude includeExclude = INCLUDE;
+  private String[] properties = EMPTY_STRING_ARRAY;
+  private NameMapper nameMapper = camelCaseToSnakeUpperCase();
+  private int chunkSize = -1;
+  private boolean commitPerChunk = true;
+  private boolean parameterized;
+  private boolean pipelined;
+
+  private Class clazz;
+  private String tableName;
+
+  AbstractBatchBuilder() { }
+
+  /**
+   * Sets the type of the beans or records to be saved.
+   *
+   * @param clazz the type of the beans or records to be saved
+   * @return this builder
+   */
+  public B of(Class<?> clazz) {
+    this.clazz = Check.notNull(clazz).ok();
+    return (B) this;
+  }
+
+  /**
+   * Sets the table name to save the data into. If not specified, this defaults to the
+   * simple name of the bean or {@code record} class, mapped using the
+   * {@link #withNameMapper(NameMapper) NameMapper}.
+   *
+   * @param tableName the table name to save the data into
+   * @return this builder
+   */
+  public B into(String tableName) {
+    this.tableName = Check.notNull(tableName).ok();
+    return (B) this;
+  }
+
+  /**
+   * Sets the properties (and corresponding columns) to exclude from the SQL statement.
+   * You would most likely at least want to exclude the property corresponding to an
+   * auto-generated key column. A call to {@code excluding()} will overwrite any previous
+   * calls to either {@code including()} or {@code excluding()}.
+   *
+   * @param properties the properties and (corresponding columns) to exclude from
+   *       the SQL statement
+   * @return this builder
+   */
+  public B excluding(String... properties) {
+    this.properties = Check.notNull(properties).ok();
+    this.includeExclude = EXCLUDE;
+    return (B) this;
+  }
+
+  /**
+   * Sets the properties (and corresponding columns) to include in the SQL statement. A
+   * call to {@code including()} will overwrite any previous calls to either
+   * {@code including()} or {@code excluding()}.
+   *
+   * @param properties the properties and (corresponding columns) to include in the
+   *       SQL statement
+   * @return this builder
+   */
+  public B including(String... properties) {
+    this.properties = Check.notNull(properties).ok();
+    this.includeExclude = INCLUDE;
+    return (B) this;
+  }
+
+  /**
+   * Sets the number of beans that will be saved at a time. If specified, batches will be
+   * split into sublists of the specified size. By default the entire batch will be saved
+   * at once (unless the chunks are saved concurrently; see
+   * {@link BatchInsertBuilder#prepare(DataSource, int)}). Make sure this does not exceed
+   * the limits of your database or JDBC driver.
+   *
+   * @param chunkSize the number of beans that will be saved at a time
+   * @return this builder
+   */
+  public B withChunkSize(int chunkSize) {
+    this.chunkSize = Check.that(chunkSize).is(gt(), 0).ok();
+    return (B) this;
+  }
+
+  /**
+   * Specifies whether to issue a database commit directly after a chunk of beans has been
+   * saved to the database. If not, you must issue the commits yourself, if and when
+   * necessary. The default behaviour is to issue a commit.
+   *
+   * @param commitPerChunk whether to commit after each chunk of beans has been saved
+   *       to the database
+   * @return this builder
+   */
+  public B withCommitPerChunk(boolean commitPerChunk) {
+    this.commitPerChunk = commitPerChunk;
+    return (B) this;
+  }
+
+  /**
+   * Specifies whether to save the beans using a parameterized multi-row statement
+   * ({@code ... VALUES (?,?),(?,?),...}) rather than a statement in which all values are
+   * embedded as (escaped and quoted) literals. In the former case, the values are bound
+   * to the parameters in the same way as they are for a {@link SQLInsert}. This saves
+   * the database from having to parse a different SQL string for every chunk, and the
+   * {@link java.sql.PreparedStatement} is reused for all chunks of the same size. The
+   * default is {@code false}. Note that databases and JDBC drivers limit the number of
+   * parameters a statement may contain. If you specify a
+   * {@linkplain #withChunkSize(int) chunk size}, the chunk size times the number of
+   * columns must stay within that limit. If you do not, the number of beans per
+   * statement is capped such that the statement contains at most
+   * {@value BatchInsert#DEFAULT_MAX_PARAMETERS} parameters. A
+   * {@link BeanValueProcessor} must not return a {@link SQLExpression} in this mode.
+   *
+   * @param parameterized whether to use a parameterized multi-row statement
+   * @return this builder
+   */
+  public B withParameterizedValues(boolean parameterized) {
+    this.parameterized = parameterized;
+    return (B) this;
+  }
+
+  /**
+   * Specifies whether to prepare the next chunk of beans while the current chunk is being
+   * saved to the database. If {@code true}, a separate (virtual) thread reads the bean
+   * values for the next chunk, runs them through the {@link BeanValueProcessor}, and
+   * assembles them into the SQL (or the list of parameter values) for the next chunk,
+   * while the calling thread is waiting for the database to process the current chunk.
+   * This may substantially reduce the time needed to save large batches. The number of
+   * chunks held in memory at any one time is limited to three. The default is
+   * {@code false}. Pipelining is only applied if the batch consists of more than one
+   * chunk, and it is not applied to a {@code BatchInsert} that saves its chunks
+   * concurrently (see {@link BatchInsertBuilder#prepare(DataSource, int)}). The
+   * {@code BeanValueProcessor} is called on the producing thread, so it should not rely
+   * on thread-local state.
+   *
+   * <p>The producing thread does not itself use the connection. Normally, values are
+   * escaped and quoted by the JDBC driver, and the driver's rules may depend on the
+   * state of the connection. Therefore, before the first chunk is prepared,
+   * <i>Klojang JDBC</i> checks whether the driver follows the standard SQL rules for
+   * string literals (doubling single quotes, and leaving all other characters alone).
+   * If it does, the producing thread escapes and quotes the values itself, according to
+   * the same rules. If it does not, the values are escaped and quoted on the calling
+   * thread, just before the SQL is executed, and less work is overlapped. The same goes
+   * for the {@link Quoter#quoteValue(Object) quoteValue()} method of the {@link Quoter}
+   * passed to the {@code BeanValueProcessor}. Its
+   * {@link Quoter#quoteIdentifier(String) quoteIdentifier()} method always uses the
+   * connection, however, so it should not be called when pipelining, unless the JDBC
+   * driver is thread-safe.
+   *
+   * @param pipelined whether to prepare the next chunk while the current chunk is
+   *       being saved
+   * @return this builder
+   */
+  public B withPipelining(boolean pipelined) {
+    this.pipelined = pipelined;
+    return (B) this;
+  }
+
+  /**
+   * Specifies the {@code BeanValueProcessor} to use to selectively convert values in bean
+   * batches. If not specified, {@link BeanValueProcessor#identity()} is used. This
+   * basically is a no-op processor.
+   *
+   * @param processor the {@code BeanValueProcessor} to use
+   * @return this builder
+   */
+  public B withValueProcessor(BeanValueProcessor<?> processor) {
+    this.processor = Check.notNull(processor, PROCESSOR).ok();
+    return (B) this;
+  }
+
+  /**
+   * Sets the property-to-column mapper to be used when mapping bean properties or record
+   * components to column names. Beware of the direction of the mappings: <i>from</i> bean
+   * properties <i>to</i> column names. Defaults to
+   * {@link CamelCaseToSnakeUpperCase#camelCaseToSnakeUpperCase()
+   * camelCaseToSnakeUpperCase()}, which would map {@code "camelCaseToSnakeUpperCase"} to
+   * {@code "CAMEL_CASE_TO_SNAKE_UPPER_CASE"}. (It would also map {@code "WordCase"}
+   * a.k.a. {@code "PascalCase"} to {@code "WORD_CASE"} and {@code "PASCAL_CASE"},
+   * respectively, since all characters end up in upper case anyway.)
+   *
+   * @param propertyToColumnMapper the property-to-column mapper
+   * @return this builder
+   */
+  public B withNameMapper(NameMapper propertyToColumnMapper) {
+    Check.notNull(propertyToColumnMapper);
+    this.nameMapper = propertyToColumnMapper;
+    return (B) this;
+  }
+
+  BeanReader reader() {
+    Check.on(STATE, clazz, CLAZZ).is(notNull());
+    return new BeanReader<>(clazz, includeExclude, properties);
+  }
+
+  Class beanClass() {
+    return clazz;
+  }
+
+  // Either con or ds is null. The dialect and keys are null unless the config is for a
+  // batch upsert.
+  BatchInsertConfig config(Connection con,
+        DataSource ds,
+        int parallelism,
+        BeanReader reader,
+        BulkLoader bulkLoader,
+        UpsertDialect dialect,
+        String[] keys) {
+    if (tableName == null) {
+      tableName = nameMapper.map(clazz.getSimpleName());
+    }
+    return new BatchInsertConfig<>(con,
+          ds,
+          parallelism,
+          reader,
+          processor,
+          nameMapper,
+          tableName,
+          chunkSize,
+          commitPerChunk,
+          parameterized,
+          pipelined,
+          bulkLoader,
+          dialect,
+          keys);
+  }
+
+}
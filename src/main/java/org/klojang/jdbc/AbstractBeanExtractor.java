@@ -4,15 +4,21 @@ import org.klojang.check.Check;
 import org.klojang.check.fallible.FallibleFunction;
 import org.klojang.jdbc.x.Err;
 import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.rs.RowPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.klojang.check.CommonChecks.gt;
-import static org.klojang.check.CommonChecks.present;
+import static org.klojang.check.CommonChecks.yes;
 import static org.klojang.check.CommonExceptions.STATE;
+import static org.klojang.jdbc.x.Strings.ACTION;
 import static org.klojang.jdbc.x.Strings.LIMIT;
 import static org.klojang.jdbc.x.Strings.SIZE_ESTIMATE;
 
@@ -26,25 +32,93 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
 
     private final AbstractBeanExtractor<T> extractor;
 
-    private Optional<T> prefetched;
+    private T prefetched;
+    private boolean hasNext;
 
     BeanIterator(AbstractBeanExtractor<T> extractor) {
       this.extractor = extractor;
-      this.prefetched = extractor.extract();
+      prefetch();
     }
 
     @Override
     public boolean hasNext() {
-      return prefetched.isPresent();
+      return hasNext;
     }
 
     @Override
     public T next() {
-      Check.on(STATE, prefetched).is(present(), Err.NO_MORE_ROWS);
-      T bean = prefetched.get();
-      prefetched = extractor.extract();
+      Check.on(STATE, hasNext).is(yes(), Err.NO_MORE_ROWS);
+      T bean = prefetched;
+      prefetch();
       return bean;
     }
+
+    private void prefetch() {
+      prefetched = null;
+      hasNext = extractor.next(bean -> prefetched = bean);
+    }
+  }
+
+  /*
+   * Spliterator that hands out the beans one by one when traversed sequentially, and in
+   * batches when split. The batch size is the fetch size of the ResultSet, so a parallel
+   * stream will process the rows in the same chunks in which they arrive from the
+   * database server.
+   */
+  private static class BeanSpliterator<T> implements Spliterator<T> {
+
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final AbstractBeanExtractor<T> extractor;
+    private final int batchSize;
+
+    BeanSpliterator(AbstractBeanExtractor<T> extractor) {
+      this.extractor = extractor;
+      this.batchSize = getBatchSize(extractor.rs);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      return extractor.next(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      while (extractor.next(action)) ;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      if (extractor.isEmpty()) {
+        return null;
+      }
+      List<T> batch = extractor.extract(batchSize);
+      if (batch.isEmpty()) {
+        return null;
+      }
+      return Spliterators.spliterator(batch.toArray(), characteristics());
+    }
+
+    // The number of remaining rows is not known, but at least the rows of the current
+    // fetch are (probably) at hand, so the fetch size is our best guess.
+    @Override
+    public long estimateSize() {
+      return extractor.isEmpty() ? 0 : batchSize;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED;
+    }
+
+    private static int getBatchSize(ResultSet rs) {
+      try {
+        int fetchSize = rs.getFetchSize();
+        return fetchSize > 0 ? fetchSize : DEFAULT_BATCH_SIZE;
+      } catch (SQLException e) {
+        return DEFAULT_BATCH_SIZE;
+      }
+    }
   }
 
   @SuppressWarnings({"unused"})
@@ -54,6 +128,9 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
   private final FallibleFunction<ResultSet, T, ? extends Throwable> converter;
 
   private T first;
+  // Whether the bean converted from the first row has not been handed out yet. We do
+  // not use null for this, because the converter may legitimately return null.
+  private boolean hasFirst;
   private boolean empty;
 
   AbstractBeanExtractor(ResultSet rs,
@@ -63,6 +140,7 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
     try {
       if (rs.next()) {
         this.first = converter.apply(rs);
+        this.hasFirst = true;
       } else {
         this.empty = true;
       }
@@ -76,10 +154,8 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
     if (empty) {
       return Optional.empty();
     }
-    var first = this.first;
-    if (first != null) {
-      this.first = null;
-      return Optional.of(first);
+    if (hasFirst) {
+      return Optional.of(takeFirst());
     }
     try {
       if (rs.next()) {
@@ -99,13 +175,11 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
       return Collections.emptyList();
     }
     List<T> all = new ArrayList<>(limit);
-    var first = this.first;
-    if (first != null) {
-      this.first = null;
-      all.add(first);
+    if (hasFirst) {
+      all.add(takeFirst());
     }
     try {
-      for (int i = (first == null ? 0 : 1); i < limit; ++i) {
+      for (int i = all.size(); i < limit; ++i) {
         if (!rs.next()) {
           empty = true;
           break;
@@ -125,14 +199,17 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
       return Collections.emptyList();
     }
     List<T> all = new ArrayList<>(sizeEstimate);
-    var first = this.first;
-    if (first != null) {
-      this.first = null;
-      all.add(first);
+    if (hasFirst) {
+      all.add(takeFirst());
     }
     try {
-      while (rs.next()) {
-        all.add(converter.apply(rs));
+      RowPipeline<T> pipeline = pipeline();
+      if (pipeline == null) {
+        while (rs.next()) {
+          all.add(converter.apply(rs));
+        }
+      } else {
+        pipeline.drainInto(rs, all);
       }
     } catch (Throwable t) {
       throw Utils.wrap(t);
@@ -152,4 +229,95 @@ abstract sealed class AbstractBeanExtractor<T> implements BeanExtractor<T> permi
     return new BeanIterator<>(this);
   }
 
+  @Override
+  public void forEach(Consumer<? super T> action) {
+    Check.notNull(action, ACTION);
+    while (next(action)) ;
+  }
+
+  @Override
+  public void forEachFlyweight(Consumer<? super T> action) {
+    Check.notNull(action, ACTION);
+    if (empty) {
+      return;
+    }
+    boolean hasFirst = this.hasFirst;
+    T first = takeFirst();
+    FallibleFunction<ResultSet, T, ? extends Throwable> flyweight
+          = flyweightConverter(hasFirst ? first : null);
+    if (hasFirst) {
+      action.accept(first);
+    }
+    while (true) {
+      T bean;
+      try {
+        if (!rs.next()) {
+          empty = true;
+          return;
+        }
+        bean = flyweight.apply(rs);
+      } catch (Throwable t) {
+        throw Utils.wrap(t);
+      }
+      action.accept(bean);
+    }
+  }
+
+  @Override
+  public Spliterator<T> spliterator() {
+    return new BeanSpliterator<>(this);
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  // Returns the RowPipeline used by extractAll() to convert the rows on multiple threads,
+  // or null if the rows are to be converted by the calling thread
+  RowPipeline<T> pipeline() {
+    return null;
+  }
+
+  // Returns the function used by forEachFlyweight() to convert the rows following the
+  // prefetched row. The argument is the bean converted from the prefetched row, or null
+  // if that bean has already been handed out. Subclasses that produce mutable beans
+  // override this method to repopulate a single bean instance. By default, the regular
+  // conversion function is returned.
+  FallibleFunction<ResultSet, T, ? extends Throwable> flyweightConverter(T bean) {
+    return converter;
+  }
+
+  // Passes the next bean to the specified action. Returns false, without calling the
+  // action, if there are no (more) rows in the ResultSet. Since the converter may return
+  // null, exhaustion cannot be signalled by returning null.
+  private boolean next(Consumer<? super T> action) {
+    if (empty) {
+      return false;
+    }
+    if (hasFirst) {
+      action.accept(takeFirst());
+      return true;
+    }
+    T bean;
+    try {
+      if (!rs.next()) {
+        empty = true;
+        return false;
+      }
+      bean = converter.apply(rs);
+    } catch (Throwable t) {
+      throw Utils.wrap(t);
+    }
+    action.accept(bean);
+    return true;
+  }
+
+  private T takeFirst() {
+    T first = this.first;
+    this.first = null;
+    this.hasFirst = false;
+    return first;
+  }
+
 }
@@ -1,13 +1,16 @@
 package org.klojang.jdbc;
 
+import org.klojang.jdbc.x.BoundedCache;
 import org.klojang.jdbc.x.ps.BeanBinder;
 import org.klojang.jdbc.x.ps.MapBinder;
+import org.klojang.jdbc.x.sql.NamedParameter;
 import org.klojang.jdbc.x.sql.ParameterInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 abstract sealed class AbstractSQL implements SQL
@@ -16,6 +19,8 @@ abstract sealed class AbstractSQL implements SQL
   @SuppressWarnings({"unused"})
   private static final Logger LOG = LoggerFactory.getLogger(AbstractSQLSession.class);
 
+  private static final int MAP_BINDER_CACHE_SIZE = 16;
+
   private final String unparsed;
   private final SessionConfig config;
 
@@ -24,15 +29,21 @@ abstract sealed class AbstractSQL implements SQL
   @SuppressWarnings("rawtypes")
   private final Map<Class, BeanExtractorFactory> factories;
 
-  private MapExtractorFactory mapExtractorFactory;
+  private final Object lock = new Object();
+  private volatile MapExtractorFactory mapExtractorFactory;
+  // MapBinder instances per parameter list, plus the most recently used one
+  private final BoundedCache<List<NamedParameter>, MapBinder> mapBinders;
+  private volatile MapBinder mapBinder;
 
   AbstractSQL(String sql, SessionConfig config) {
     this.unparsed = sql;
     this.config = config;
     // These maps are unlikely to grow beyond one or two entries (you can't extract
-    // _that_ many beans from a single row).
-    binders = new HashMap<>();
-    factories = new HashMap<>();
+    // _that_ many beans from a single row). They need to be thread-safe though, because
+    // SQL objects are meant to be shared.
+    binders = new ConcurrentHashMap<>(4);
+    factories = new ConcurrentHashMap<>(4);
+    mapBinders = new BoundedCache<>("MapBinder", MAP_BINDER_CACHE_SIZE);
   }
 
   // Returns the original, user-provided SQL string, with any named parameters and
@@ -47,12 +58,33 @@ abstract sealed class AbstractSQL implements SQL
 
   @SuppressWarnings("unchecked")
   final <T> BeanBinder<T> getBeanBinder(ParameterInfo paramInfo, Class<T> clazz) {
-    return binders.computeIfAbsent(clazz,
+    BeanBinder<T> binder = binders.computeIfAbsent(clazz,
           k -> new BeanBinder<>(clazz, paramInfo.parameters(), config));
+    // SQL templates and skeletons may produce different parameters for each session
+    if (binder.getParameters() != paramInfo.parameters()) {
+      binder = new BeanBinder<>(clazz, paramInfo.parameters(), config);
+      binders.put(clazz, binder);
+    }
+    return binder;
   }
 
   final MapBinder getMapBinder(ParameterInfo paramInfo) {
-    return new MapBinder(paramInfo.parameters(), config);
+    // For simple SQL, the parameters are always the same, so we nearly always get a hit
+    // here. For SQL templates and skeletons they may vary per session, so we keep a
+    // MapBinder for each parameter list. All of them share the same binding plans.
+    MapBinder binder = mapBinder;
+    if (binder == null || binder.parameters() != paramInfo.parameters()) {
+      binder = mapBinders.get(paramInfo.parameters(), this::newMapBinder);
+      mapBinder = binder;
+    }
+    return binder;
+  }
+
+  private MapBinder newMapBinder(List<NamedParameter> params) {
+    MapBinder binder = mapBinder;
+    return binder == null
+          ? new MapBinder(params, config)
+          : binder.withParameters(params);
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -68,10 +100,16 @@ abstract sealed class AbstractSQL implements SQL
   }
 
   final MapExtractorFactory getMapExtractorFactory() {
-    if (mapExtractorFactory == null) {
-      mapExtractorFactory = new MapExtractorFactory(config);
+    MapExtractorFactory factory = mapExtractorFactory;
+    if (factory == null) {
+      synchronized (lock) {
+        factory = mapExtractorFactory;
+        if (factory == null) {
+          mapExtractorFactory = factory = new MapExtractorFactory(config);
+        }
+      }
     }
-    return mapExtractorFactory;
+    return factory;
   }
 
 }
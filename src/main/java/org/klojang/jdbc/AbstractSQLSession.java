@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -33,6 +34,12 @@ abstract sealed class AbstractSQLSession implements SQLSession
     }
   }
 
+  // Called when a SQLStatement created by this session is closed or garbage collected.
+  // Must not require a reference to the SQLStatement itself.
+  void release(PreparedStatement stmt) throws SQLException {
+    stmt.close();
+  }
+
   AbstractSQL getSQL() {
     return sql;
   }
@@ -4,19 +4,42 @@ import org.klojang.check.Check;
 import org.klojang.jdbc.x.Err;
 import org.klojang.jdbc.x.JDBC;
 import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.ps.ValuesBinder;
 import org.klojang.jdbc.x.sql.BatchInsertConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static java.sql.Statement.NO_GENERATED_KEYS;
 import static java.sql.Statement.RETURN_GENERATED_KEYS;
+import static org.klojang.check.CommonChecks.instanceOf;
+import static org.klojang.check.CommonChecks.notNull;
 import static org.klojang.check.CommonChecks.zero;
 import static org.klojang.check.CommonExceptions.STATE;
+import static org.klojang.check.CommonExceptions.npe;
+import static org.klojang.jdbc.x.Err.ILLEGAL_NULL_VALUE_IN_LIST;
 import static org.klojang.jdbc.x.Err.NO_KEYS_WERE_GENERATED;
+import static org.klojang.jdbc.x.Err.SQL_EXPRESSION_NOT_LOADABLE;
 import static org.klojang.jdbc.x.Msg.EXECUTING_SQL;
 import static org.klojang.jdbc.x.Strings.ID_PROPERTY;
 import static org.klojang.util.ArrayMethods.EMPTY_LONG_ARRAY;
@@ -32,7 +55,23 @@ import static org.klojang.util.StringMethods.append;
  * SQL injection, as it will process each and every value in the batch using
  * {@link Quoter#quoteValue(Object) Quoter.quoteValue()}. This method ultimately relies on
  * {@link Statement#enquoteLiteral(String) Statement.enquoteLiteral()} &#8212; in other
- * words, the JDBC driver's own escape-and-quote mechanism.
+ * words, the JDBC driver's own escape-and-quote mechanism. Alternatively, you can
+ * {@linkplain BatchInsertBuilder#withParameterizedValues(boolean) configure} the
+ * {@code BatchInsert} to use a multi-row INSERT statement with positional parameters
+ * ({@code INSERT INTO ... VALUES (?,?),(?,?),...}), in which case the values are bound
+ * to the {@code PreparedStatement} rather than embedded in the SQL. Finally, you can
+ * {@linkplain BatchInsertBuilder#withBulkLoader(BulkLoader) configure} the
+ * {@code BatchInsert} to hand the values over to a {@link BulkLoader}, which uses the
+ * database's native bulk-load mechanism.
+ *
+ * <p>A {@code BatchInsert} obtained via
+ * {@link BatchInsertBuilder#prepare(javax.sql.DataSource, int)
+ * BatchInsertBuilder.prepare(DataSource, parallelism)} saves the chunks of a batch
+ * concurrently, each on a connection of its own. A {@code BatchInsert} obtained via
+ * {@link BatchInsertBuilder#prepare(java.sql.Connection)
+ * BatchInsertBuilder.prepare(Connection)} can be
+ * {@linkplain BatchInsertBuilder#withPipelining(boolean) configured} to prepare the
+ * next chunk while the current chunk is being saved.
  *
  * <h2>Batch Insert Variants</h2>
  *
@@ -56,14 +95,42 @@ public final class BatchInsert<T> {
 
   private static final Logger LOG = LoggerFactory.getLogger(AbstractSQLSession.class);
 
+  /**
+   * The chunk size used by {@link #insertAll(Iterator) insertAll()} if no chunk size was
+   * specified via {@link BatchInsertBuilder#withChunkSize(int)}.
+   */
+  public static final int DEFAULT_STREAMING_CHUNK_SIZE = 1000;
+
+  /**
+   * The maximum number of parameters in a parameterized multi-row INSERT statement if no
+   * chunk size was specified via {@link BatchInsertBuilder#withChunkSize(int)}. This
+   * keeps the statement within the limits of all major databases (SQL Server allows
+   * 2100 parameters, PostgreSQL 65535). See
+   * {@link BatchInsertBuilder#withParameterizedValues(boolean)}.
+   */
+  public static final int DEFAULT_MAX_PARAMETERS = 2000;
+
   private final BatchInsertConfig<T> cfg;
   private final String[] props;
   private final String sqlBase;
+  // Follows the rows in the SQL. Only non-empty for batch upserts.
+  private final String sqlTail;
+
+  // Parameterized INSERT statements, keyed by the number of rows they insert
+  private final Map<Integer, String> sqlCache = new ConcurrentHashMap<>(4);
 
   BatchInsert(BatchInsertConfig<T> cfg) {
     this.cfg = cfg;
     this.props = cfg.reader().getReadableProperties().toArray(String[]::new);
-    this.sqlBase = getSqlBase(cfg, props);
+    if (cfg.dialect() == null) {
+      this.sqlBase = getSqlBase(cfg, props);
+      this.sqlTail = "";
+    } else {
+      List<String> cols = Arrays.stream(props).map(cfg.mapper()::map).toList();
+      List<String> keys = Arrays.stream(cfg.keys()).map(cfg.mapper()::map).toList();
+      this.sqlBase = cfg.dialect().head(cfg.tableName(), cols, keys);
+      this.sqlTail = cfg.dialect().tail(cols, keys);
+    }
   }
 
   /**
@@ -74,7 +141,7 @@ public final class BatchInsert<T> {
   public void insertBatch(List<T> beans) {
     Check.notNull(beans);
     if (!beans.isEmpty()) {
-      int chunkSize = cfg.chunkSize() == -1 ? beans.size() : cfg.chunkSize();
+      int chunkSize = getChunkSize(beans);
       insertBatch(beans, chunkSize);
     }
   }
@@ -92,7 +159,7 @@ public final class BatchInsert<T> {
     if (beans.isEmpty()) {
       return EMPTY_LONG_ARRAY;
     }
-    int chunkSize = cfg.chunkSize() == -1 ? beans.size() : cfg.chunkSize();
+    int chunkSize = getChunkSize(beans);
     return insertBatchAndGetIDs(beans, chunkSize);
   }
 
@@ -111,120 +178,337 @@ public final class BatchInsert<T> {
     Class<T> clazz = cfg.reader().getBeanClass();
     Check.on(STATE, clazz).isNot(Class::isRecord, Err.NOT_MUTABLE, className(clazz));
     if (!beans.isEmpty()) {
-      int chunkSize = cfg.chunkSize() == -1 ? beans.size() : cfg.chunkSize();
+      int chunkSize = getChunkSize(beans);
       insertBatchAndSetIDs(beans, idProperty, chunkSize);
     }
   }
 
-  private void insertBatch(List<T> beans, int chunkSize) {
-    for (int i = 0; i < beans.size(); i += chunkSize) {
-      int j = Math.min(beans.size(), i + chunkSize);
-      try {
-        insertChunk(beans.subList(i, j));
-      } catch (Throwable t) {
-        throw Utils.wrap(t);
-      }
+  /**
+   * Saves the beans or records produced by the specified {@code Iterator} to the
+   * database. The beans are read lazily, and saved in chunks of the
+   * {@linkplain BatchInsertBuilder#withChunkSize(int) configured} chunk size (or
+   * {@value #DEFAULT_STREAMING_CHUNK_SIZE} if no chunk size was configured). Only the
+   * chunk being saved is held in memory (or, when pipelining or saving chunks
+   * concurrently, the chunks being prepared and saved). This allows you to, for
+   * example, copy a table from one database to another without materializing the
+   * entire table:
+   *
+   * <blockquote><pre>{@code
+   * try (SQLQuery query = sql.session(sourceCon).prepareQuery()) {
+   *   BeanExtractor<Person> extractor = query.getExtractor(Person.class);
+   *   long count = batchInsert.insertAll(extractor.iterator());
+   * }
+   * }</pre></blockquote>
+   *
+   * @param beans an {@code Iterator} over the beans to save
+   * @return the number of beans saved to the database
+   */
+  public long insertAll(Iterator<? extends T> beans) {
+    Check.notNull(beans);
+    int chunkSize = cfg.chunkSize() == -1
+          ? capRows(DEFAULT_STREAMING_CHUNK_SIZE)
+          : cfg.chunkSize();
+    Chunks chunks = new Chunks(beans, chunkSize);
+    execute(chunks, NO_GENERATED_KEYS, (offset, chunk, keys) -> { });
+    return chunks.count();
+  }
+
+  /**
+   * Saves the beans or records in the specified {@code Stream} to the database. See
+   * {@link #insertAll(Iterator)}.
+   *
+   * @param beans a {@code Stream} of the beans to save
+   * @return the number of beans saved to the database
+   */
+  public long insertAll(Stream<? extends T> beans) {
+    Check.notNull(beans);
+    return insertAll(beans.iterator());
+  }
+
+  // Without an explicit chunk size, the batch is saved in one go, or, when saving chunks
+  // concurrently, spread evenly across the connections. Parameterized statements are
+  // kept within DEFAULT_MAX_PARAMETERS, though.
+  private int getChunkSize(List<T> beans) {
+    if (cfg.chunkSize() != -1) {
+      return cfg.chunkSize();
+    }
+    return capRows((beans.size() + cfg.parallelism() - 1) / cfg.parallelism());
+  }
+
+  private int capRows(int rows) {
+    if (cfg.parameterized()) {
+      return Math.min(rows, Math.max(1, DEFAULT_MAX_PARAMETERS / props.length));
     }
+    return rows;
+  }
+
+  private void insertBatch(List<T> beans, int chunkSize) {
+    Chunks chunks = new Chunks(beans, chunkSize);
+    execute(chunks, NO_GENERATED_KEYS, (offset, chunk, keys) -> { });
   }
 
   private long[] insertBatchAndGetIDs(List<T> beans, int chunkSize) {
     long[] allKeys = new long[beans.size()];
-    for (int i = 0; i < beans.size(); i += chunkSize) {
-      int j = Math.min(beans.size(), i + chunkSize);
-      try {
-        long[] keys = insertChunkAndGetIDs(beans.subList(i, j));
-        System.arraycopy(keys, 0, allKeys, i, j);
-      } catch (Throwable t) {
-        throw Utils.wrap(t);
+    AtomicBoolean noKeys = new AtomicBoolean();
+    Chunks chunks = new Chunks(beans, chunkSize);
+    execute(chunks, RETURN_GENERATED_KEYS, (offset, chunk, keys) -> {
+      if (keys.length == 0) {
+        noKeys.set(true);
+      } else {
+        System.arraycopy(keys, 0, allKeys, (int) offset, chunk.size());
       }
-    }
-    return allKeys;
+    });
+    return noKeys.get() ? EMPTY_LONG_ARRAY : allKeys;
   }
 
   private void insertBatchAndSetIDs(List<T> beans, String idProperty, int chunkSize) {
-    for (int i = 0; i < beans.size(); i += chunkSize) {
-      int j = Math.min(beans.size(), i + chunkSize);
-      try {
-        insertChunkAndSetIDs(beans.subList(i, j), idProperty);
-      } catch (Throwable t) {
-        throw Utils.wrap(t);
+    Chunks chunks = new Chunks(beans, chunkSize);
+    execute(chunks, RETURN_GENERATED_KEYS, (offset, chunk, keys) -> {
+      Utils.check(keys.length).isNot(zero(), NO_KEYS_WERE_GENERATED);
+      for (int i = 0; i < keys.length; ++i) {
+        JDBC.setID(chunk.get(i), idProperty, keys[i]);
       }
+    });
+  }
+
+  // A chunk of beans. The offset is the index of the first bean of the chunk within the
+  // entire batch.
+  private record Chunk<U>(int index, long offset, List<U> beans) { }
+
+  // Splits a List or an Iterator into chunks. Thread-safe.
+  private final class Chunks {
+
+    private final List<T> list;
+    private final Iterator<? extends T> iterator;
+    private final int chunkSize;
+
+    private int index;
+    private long offset;
+
+    Chunks(List<T> list, int chunkSize) {
+      this.list = list;
+      this.iterator = null;
+      this.chunkSize = chunkSize;
+    }
+
+    Chunks(Iterator<? extends T> iterator, int chunkSize) {
+      this.list = null;
+      this.iterator = iterator;
+      this.chunkSize = chunkSize;
+    }
+
+    // Returns the next chunk, or null if there are no more chunks
+    synchronized Chunk<T> next() {
+      List<T> beans;
+      if (list != null) {
+        if (offset == list.size()) {
+          return null;
+        }
+        int from = (int) offset;
+        beans = list.subList(from, Math.min(list.size(), from + chunkSize));
+      } else {
+        if (!iterator.hasNext()) {
+          return null;
+        }
+        beans = new ArrayList<>(chunkSize);
+        while (beans.size() < chunkSize && iterator.hasNext()) {
+          T bean = iterator.next();
+          Check.that(bean).is(notNull(), npe(ILLEGAL_NULL_VALUE_IN_LIST));
+          beans.add(bean);
+        }
+      }
+      Chunk<T> chunk = new Chunk<>(index++, offset, beans);
+      offset += beans.size();
+      return chunk;
     }
+
+    // Whether there may be more than one chunk
+    boolean multiple() {
+      return list == null || list.size() > chunkSize;
+    }
+
+    // Returns the number of beans handed out so far
+    synchronized long count() {
+      return offset;
+    }
+  }
+
+  // Processes the keys generated for a single chunk
+  @FunctionalInterface
+  private interface KeyHandler<U> {
+    void handle(long offset, List<U> chunk, long[] keys) throws Throwable;
   }
 
-  private void insertChunk(List<T> beans) throws Throwable {
-    StringBuilder sql = new StringBuilder(guessSize(beans));
-    sql.append(sqlBase);
-    try (Statement stmt = cfg.connection().createStatement()) {
-      addRows(sql, stmt, beans);
-      String s = sql.toString();
-      LOG.trace(EXECUTING_SQL, s);
-      stmt.executeUpdate(s, NO_GENERATED_KEYS);
+  private void execute(Chunks chunks, int keyMode, KeyHandler<T> handler) {
+    if (cfg.dataSource() != null) {
+      executeInParallel(chunks, keyMode, handler);
+    } else if (cfg.pipelined() && chunks.multiple()) {
+      executePipelined(chunks, keyMode, handler);
+    } else {
+      executeSerially(chunks, keyMode, handler);
     }
-    commit();
   }
 
-  private long[] insertChunkAndGetIDs(List<T> beans) throws Throwable {
-    long[] keys;
-    StringBuilder sql = new StringBuilder(guessSize(beans));
-    sql.append(sqlBase);
-    try (Statement stmt = cfg.connection().createStatement()) {
-      addRows(sql, stmt, beans);
-      String s = sql.toString();
-      LOG.trace(EXECUTING_SQL, s);
-      stmt.executeUpdate(s, RETURN_GENERATED_KEYS);
-      keys = JDBC.getGeneratedKeys(stmt, beans.size());
+  // Signals that the producer in a pipelined batch insert is done, or failed to prepare
+  // a chunk.
+  private static final Object END = new Object();
+
+  private record Failure(Throwable cause) { }
+
+  // A chunk along with the SQL or the parameter values prepared for it
+  private record Prepared<U>(Chunk<U> chunk, Object sqlOrValues) { }
+
+  private void executeSerially(Chunks chunks, int keyMode, KeyHandler<T> handler) {
+    Connection con = cfg.connection();
+    try (ChunkWriter writer = newWriter(con, keyMode)) {
+      for (Chunk<T> chunk = chunks.next(); chunk != null; chunk = chunks.next()) {
+        handler.handle(chunk.offset(), chunk.beans(), writer.write(chunk.beans()));
+        if (cfg.commitPerChunk() && !con.getAutoCommit()) {
+          con.commit();
+        }
+      }
+    } catch (Throwable t) {
+      throw Utils.wrap(t);
     }
-    commit();
-    return keys;
   }
 
-  private void insertChunkAndSetIDs(List<T> beans, String idProperty) throws Throwable {
-    StringBuilder sql = new StringBuilder(guessSize(beans));
-    sql.append(sqlBase);
-    try (Statement stmt = cfg.connection().createStatement()) {
-      addRows(sql, stmt, beans);
-      String s = sql.toString();
-      LOG.trace(EXECUTING_SQL, s);
-      stmt.executeUpdate(s, RETURN_GENERATED_KEYS);
-      long[] keys = JDBC.getGeneratedKeys(stmt, beans.size());
-      Utils.check(keys.length).isNot(zero(), NO_KEYS_WERE_GENERATED);
-      for (int i = 0; i < keys.length; ++i) {
-        JDBC.setID(beans.get(i), idProperty, keys[i]);
+  // A producer thread prepares the chunks, and hands them over to the calling thread,
+  // which executes them. The hand-off queue has room for just one chunk, so at any time
+  // at most three chunks are held in memory: the one being executed, the one in the
+  // queue, and the one being prepared.
+  @SuppressWarnings("unchecked")
+  private void executePipelined(Chunks chunks, int keyMode, KeyHandler<T> handler) {
+    Connection con = cfg.connection();
+    BlockingQueue<Object> queue = new ArrayBlockingQueue<>(1);
+    try (ChunkWriter writer = newWriter(con, keyMode);
+          ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      // The producer uses the Quoter. Create it here, so the producer won't be the one
+      // creating the Statement for it, or probing the driver's quoting rules.
+      writer.quoter();
+      Future<?> producer = executor.submit(() -> {
+        try {
+          for (Chunk<T> chunk = chunks.next(); chunk != null; chunk = chunks.next()) {
+            queue.put(new Prepared<>(chunk, writer.prepare(chunk.beans())));
+          }
+          queue.put(END);
+        } catch (InterruptedException e) {
+          // The consumer gave up
+        } catch (Throwable t) {
+          queue.put(new Failure(t));
+        }
+        return null;
+      });
+      try {
+        for (Object obj = queue.take(); obj != END; obj = queue.take()) {
+          if (obj instanceof Failure(Throwable cause)) {
+            throw cause;
+          }
+          Prepared<T> prepared = (Prepared<T>) obj;
+          Chunk<T> chunk = prepared.chunk();
+          long[] keys = writer.execute(prepared.sqlOrValues(), chunk.beans().size());
+          handler.handle(chunk.offset(), chunk.beans(), keys);
+          if (cfg.commitPerChunk() && !con.getAutoCommit()) {
+            con.commit();
+          }
+        }
+      } finally {
+        // No-op unless the consumer failed
+        producer.cancel(true);
       }
+    } catch (Throwable t) {
+      throw Utils.wrap(t);
     }
-    commit();
   }
 
-  private void addRows(StringBuilder sql, Statement stmt, List<T> beans) {
-    int i = 0;
-    for (T bean : beans) {
-      if (i++ > 0) {
-        sql.append(',');
+  private void executeInParallel(Chunks chunks, int keyMode, KeyHandler<T> handler) {
+    AtomicBoolean failed = new AtomicBoolean();
+    Set<Integer> committed = ConcurrentHashMap.newKeySet();
+    List<Future<?>> futures = new ArrayList<>(cfg.parallelism());
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int w = 0; w < cfg.parallelism(); ++w) {
+        futures.add(executor.submit(() -> {
+          // Only take a chunk once we have a connection, so that a worker that cannot
+          // get hold of one does not take a chunk with it
+          try (Connection con = cfg.dataSource().getConnection();
+                ChunkWriter writer = newWriter(con, keyMode)) {
+            for (Chunk<T> chunk = next(chunks, failed);
+                  chunk != null;
+                  chunk = next(chunks, failed)) {
+              try {
+                List<T> beans = chunk.beans();
+                handler.handle(chunk.offset(), beans, writer.write(beans));
+                if (!con.getAutoCommit()) {
+                  con.commit();
+                }
+                committed.add(chunk.index());
+              } catch (Throwable t) {
+                failed.set(true);
+                rollback(con);
+                long from = chunk.offset();
+                long to = from + chunk.beans().size() - 1;
+                String fmt = "failed to save chunk %d (beans %d to %d)";
+                String msg = String.format(fmt, chunk.index(), from, to);
+                throw new DatabaseException(msg, t);
+              }
+            }
+          } catch (Throwable t) {
+            // Also stop the other workers if this one could not get started
+            failed.set(true);
+            throw t;
+          }
+          return null;
+        }));
+      }
+    }
+    DatabaseException exc = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (exc == null) {
+          String fmt = "batch insert failed. Committed chunks: %s";
+          String msg = String.format(fmt, new TreeSet<>(committed));
+          exc = new DatabaseException(msg, e.getCause());
+        } else {
+          exc.addSuppressed(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw Utils.wrap(e);
       }
-      addRow(sql, stmt, bean);
+    }
+    if (exc != null) {
+      throw exc;
     }
   }
 
-  private void addRow(StringBuilder sql, Statement stmt, T bean) {
-    BatchInsertConfig<T> cfg = this.cfg;
-    Quoter quoter = new Quoter(stmt);
-    List<Object> values = cfg.reader().readAllProperties(bean);
-    sql.append('(');
-    for (int i = 0; i < props.length; ++i) {
-      if (i > 0) {
-        sql.append(',');
+  private Chunk<T> next(Chunks chunks, AtomicBoolean failed) {
+    return failed.get() ? null : chunks.next();
+  }
+
+  private static void rollback(Connection con) {
+    try {
+      if (!con.getAutoCommit()) {
+        con.rollback();
       }
-      Object val = cfg.processor().process(bean, props[i], values.get(i), quoter);
-      sql.append(quoter.quoteValue(val));
+    } catch (SQLException e) {
+      LOG.debug("Error while rolling back chunk: {}", e.toString());
     }
-    sql.append(')');
   }
 
-  private void commit() throws SQLException {
-    if (cfg.commitPerChunk() && !cfg.connection().getAutoCommit()) {
-      cfg.connection().commit();
+  private ChunkWriter newWriter(Connection con, int keyMode) throws SQLException {
+    BulkLoader loader = cfg.bulkLoader();
+    if (loader != null && keyMode == NO_GENERATED_KEYS) {
+      if (loader.isSupported(con)) {
+        return new BulkWriter(con, keyMode);
+      }
+      LOG.debug("{} does not support this database. Falling back to INSERT",
+            loader.getClass().getSimpleName());
+    }
+    if (cfg.parameterized()) {
+      return new ParameterizedWriter(con, keyMode);
     }
+    return new LiteralWriter(con, keyMode);
   }
 
   private static String getSqlBase(BatchInsertConfig<?> cfg, String[] props) {
@@ -234,8 +518,238 @@ public final class BatchInsert<T> {
     return sb.toString();
   }
 
-  private int guessSize(List<T> beans) {
-    return 50 + (props.length * beans.size() * 12);
+  private String getParameterizedSQL(int rows) {
+    StringBuilder row = new StringBuilder(2 + props.length * 2);
+    row.append('(');
+    for (int i = 0; i < props.length; ++i) {
+      row.append(i == 0 ? "?" : ",?");
+    }
+    row.append(')');
+    int size = sqlBase.length() + rows * (row.length() + 1) + sqlTail.length();
+    StringBuilder sb = new StringBuilder(size);
+    sb.append(sqlBase).append(row);
+    for (int i = 1; i < rows; ++i) {
+      sb.append(',').append(row);
+    }
+    return sb.append(sqlTail).toString();
+  }
+
+  // Saves a single chunk of beans to the database. Saving a chunk happens in two steps:
+  // prepare() reads and processes the bean values, and execute() sends them to the
+  // database. When pipelining, prepare() is called on a different thread than execute().
+  // Therefore prepare() must not use the connection, except through the Quoter passed
+  // to the BeanValueProcessor.
+  private abstract class ChunkWriter implements AutoCloseable {
+
+    final Connection con;
+    final int keyMode;
+
+    // Statement used for quoting only, so the producer thread in a pipelined batch
+    // insert does not share a Statement with the thread executing the chunks
+    private Statement quoteStmt;
+    private Quoter quoter;
+
+    ChunkWriter(Connection con, int keyMode) {
+      this.con = con;
+      this.keyMode = keyMode;
+    }
+
+    // Returns the processed values of all beans in the chunk, row after row
+    Object prepare(List<T> beans) throws Throwable {
+      BatchInsertConfig<T> cfg = BatchInsert.this.cfg;
+      Quoter quoter = quoter();
+      Object[] values = new Object[beans.size() * props.length];
+      int k = 0;
+      for (T bean : beans) {
+        List<Object> row = cfg.reader().readAllProperties(bean);
+        for (int i = 0; i < props.length; ++i) {
+          values[k++] = cfg.processor().process(bean, props[i], row.get(i), quoter);
+        }
+      }
+      return values;
+    }
+
+    // Returns the generated keys, or a zero-length array if no keys were generated or
+    // requested
+    abstract long[] execute(Object prepared, int rows) throws Throwable;
+
+    long[] write(List<T> beans) throws Throwable {
+      return execute(prepare(beans), beans.size());
+    }
+
+    @Override
+    public void close() throws SQLException {
+      if (quoteStmt != null) {
+        quoteStmt.close();
+      }
+    }
+
+    Quoter quoter() throws SQLException {
+      if (quoter == null) {
+        quoteStmt = con.createStatement();
+        quoter = new Quoter(quoteStmt, JDBC.usesStandardQuoting(quoteStmt));
+      }
+      return quoter;
+    }
+
+    long[] getKeys(Statement stmt, int count) throws SQLException {
+      if (keyMode == RETURN_GENERATED_KEYS) {
+        return JDBC.getGeneratedKeys(stmt, count);
+      }
+      return EMPTY_LONG_ARRAY;
+    }
+  }
+
+  // Embeds the values as escaped and quoted literals in the SQL. If the JDBC driver uses
+  // standard SQL quoting, the SQL is built in prepare(), without involving the driver.
+  // Otherwise the values are quoted by the driver, and this is postponed to execute(),
+  // so that it happens on the thread that owns the connection.
+  private final class LiteralWriter extends ChunkWriter {
+
+    private final Statement stmt;
+
+    LiteralWriter(Connection con, int keyMode) throws SQLException {
+      super(con, keyMode);
+      this.stmt = con.createStatement();
+    }
+
+    @Override
+    Object prepare(List<T> beans) throws Throwable {
+      Object[] values = (Object[]) super.prepare(beans);
+      return quoter().isStandard() ? toSQL(values, beans.size()) : values;
+    }
+
+    @Override
+    long[] execute(Object prepared, int rows) throws Throwable {
+      String sql = prepared instanceof String s ? s : toSQL((Object[]) prepared, rows);
+      LOG.trace(EXECUTING_SQL, sql);
+      stmt.executeUpdate(sql, keyMode);
+      return getKeys(stmt, rows);
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try {
+        stmt.close();
+      } finally {
+        super.close();
+      }
+    }
+
+    private String toSQL(Object[] values, int rows) throws SQLException {
+      Quoter quoter = quoter();
+      StringBuilder sql = new StringBuilder(guessSize(rows));
+      sql.append(sqlBase);
+      for (int k = 0; k < values.length; ++k) {
+        int i = k % props.length;
+        if (i == 0) {
+          sql.append(k == 0 ? "(" : "),(");
+        } else {
+          sql.append(',');
+        }
+        sql.append(quoter.quoteValue(values[k]));
+      }
+      return sql.append(')').append(sqlTail).toString();
+    }
+
+    private int guessSize(int rows) {
+      return 50 + (props.length * rows * 12);
+    }
+  }
+
+  // Binds the values to a multi-row INSERT statement with positional parameters. The
+  // statement for the first chunk is kept open for all subsequent chunks of the same
+  // size. Only the last chunk may be smaller, and it gets a statement of its own.
+  private final class ParameterizedWriter extends ChunkWriter {
+
+    private final ValuesBinder binder = new ValuesBinder(props.length);
+
+    private PreparedStatement full;
+    private int fullSize;
+
+    ParameterizedWriter(Connection con, int keyMode) {
+      super(con, keyMode);
+    }
+
+    @Override
+    long[] execute(Object prepared, int rows) throws Throwable {
+      Object[] values = (Object[]) prepared;
+      PreparedStatement ps = getStatement(rows);
+      try {
+        for (int k = 0; k < values.length; ++k) {
+          binder.bind(ps, k + 1, k % props.length, values[k]);
+        }
+        ps.executeUpdate();
+        return getKeys(ps, rows);
+      } finally {
+        if (ps != full) {
+          ps.close();
+        }
+      }
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try {
+        if (full != null) {
+          full.close();
+        }
+      } finally {
+        super.close();
+      }
+    }
+
+    private PreparedStatement getStatement(int rows) throws SQLException {
+      if (full == null) {
+        full = newStatement(rows);
+        fullSize = rows;
+        return full;
+      }
+      return rows == fullSize ? full : newStatement(rows);
+    }
+
+    private PreparedStatement newStatement(int rows) throws SQLException {
+      String sql = sqlCache.computeIfAbsent(rows, BatchInsert.this::getParameterizedSQL);
+      LOG.trace(EXECUTING_SQL, sql);
+      return con.prepareStatement(sql, keyMode);
+    }
+  }
+
+  // Hands the values over to the BulkLoader
+  private final class BulkWriter extends ChunkWriter {
+
+    private final List<String> columns = Arrays.stream(props)
+          .map(cfg.mapper()::map)
+          .toList();
+
+    BulkWriter(Connection con, int keyMode) {
+      super(con, keyMode);
+    }
+
+    @Override
+    Object prepare(List<T> beans) throws Throwable {
+      Quoter quoter = quoter();
+      List<Object[]> rows = new ArrayList<>(beans.size());
+      for (T bean : beans) {
+        List<Object> values = cfg.reader().readAllProperties(bean);
+        Object[] row = new Object[props.length];
+        for (int i = 0; i < props.length; ++i) {
+          Object val = cfg.processor().process(bean, props[i], values.get(i), quoter);
+          Utils.check(val)
+                .isNot(instanceOf(), SQLExpression.class, SQL_EXPRESSION_NOT_LOADABLE);
+          row[i] = val;
+        }
+        rows.add(row);
+      }
+      return rows;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    long[] execute(Object prepared, int rows) throws Throwable {
+      cfg.bulkLoader().load(con, cfg.tableName(), columns, (List<Object[]>) prepared);
+      return EMPTY_LONG_ARRAY;
+    }
   }
 
 }
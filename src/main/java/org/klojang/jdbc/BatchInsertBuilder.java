@@ -1,181 +1,93 @@
 package org.klojang.jdbc;
 
 import org.klojang.check.Check;
-import org.klojang.invoke.BeanReader;
-import org.klojang.invoke.IncludeExclude;
 import org.klojang.jdbc.x.sql.BatchInsertConfig;
-import org.klojang.templates.NameMapper;
-import org.klojang.templates.name.CamelCaseToSnakeUpperCase;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 
 import static org.klojang.check.CommonChecks.gt;
-import static org.klojang.check.CommonChecks.notNull;
-import static org.klojang.check.CommonExceptions.STATE;
-import static org.klojang.invoke.IncludeExclude.EXCLUDE;
-import static org.klojang.invoke.IncludeExclude.INCLUDE;
-import static org.klojang.jdbc.x.Strings.CLAZZ;
-import static org.klojang.jdbc.x.Strings.PROCESSOR;
-import static org.klojang.templates.name.CamelCaseToSnakeUpperCase.camelCaseToSnakeUpperCase;
-import static org.klojang.util.ArrayMethods.EMPTY_STRING_ARRAY;
+import static org.klojang.jdbc.x.Strings.BULK_LOADER;
+import static org.klojang.jdbc.x.Strings.PARALLELISM;
 
 /**
  * A builder class for {@link BatchInsert} instances. {@code BatchInsertBuilder}
  * instances are obtained via {@link SQL#insertBatch()}.
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
-public final class BatchInsertBuilder {
+public final class BatchInsertBuilder extends AbstractBatchBuilder<BatchInsertBuilder> {
 
-  private BeanValueProcessor processor = BeanValueProcessor.identity();
-  private IncludeExclude includeExclude = INCLUDE;
-  private String[] properties = EMPTY_STRING_ARRAY;
-  private NameMapper nameMapper = camelCaseToSnakeUpperCase();
-  private int chunkSize = -1;
-  boolean commitPerChunk = true;
-
-  private Class clazz;
-  private String tableName;
+  private BulkLoader bulkLoader;
 
   BatchInsertBuilder() { }
 
   /**
-   * Sets the type of the beans or records to be saved.
-   *
-   * @param clazz the type of the beans or records to be saved
-   * @return this {@code BatchInsertBuilder}
-   */
-  public BatchInsertBuilder of(Class<?> clazz) {
-    this.clazz = Check.notNull(clazz).ok();
-    return this;
-  }
-
-  /**
-   * Sets the table name to insert the data into. If not specified, this defaults to the
-   * simple name of the bean or {@code record} class, mapped using the
-   * {@link #withNameMapper(NameMapper) NameMapper}.
-   *
-   * @param tableName the table name to insert the data into
-   * @return this {@code BatchInsertBuilder}
-   */
-  public BatchInsertBuilder into(String tableName) {
-    this.tableName = Check.notNull(tableName).ok();
-    return this;
-  }
-
-  /**
-   * Sets the properties (and corresponding columns) to exclude from the INSERT statement.
-   * You would most likely at least want to exclude the property corresponding to the
-   * auto-generated key column. A call to {@code excluding()} will overwrite any previous
-   * calls to either {@code including()} or {@code excluding()}.
-   *
-   * @param properties the properties and (corresponding columns) to exclude from
-   *       the INSERT statement
-   * @return this {@code BatchInsertBuilder}
-   */
-  public BatchInsertBuilder excluding(String... properties) {
-    this.properties = Check.notNull(properties).ok();
-    this.includeExclude = EXCLUDE;
-    return this;
-  }
-
-  /**
-   * Sets the properties (and corresponding columns) to include in the INSERT statement. A
-   * call to {@code including()} will overwrite any previous calls to either
-   * {@code including()} or {@code excluding()}.
-   *
-   * @param properties the properties and (corresponding columns) to include in the
-   *       INSERT statement
-   * @return this {@code BatchInsertBuilder}
-   */
-  public BatchInsertBuilder including(String... properties) {
-    this.properties = Check.notNull(properties).ok();
-    this.includeExclude = INCLUDE;
-    return this;
-  }
-
-  /**
-   * Sets the number of beans that will be saved at a time. If specified, batches will be
-   * split into sublists of the specified size. By default the entire batch will be saved
-   * at once. Make sure this does not exceed the limits of your database or JDBC driver.
-   *
-   * @param chunkSize the number of beans that will be saved at a time
-   * @return this {@code BatchInsertBuilder}
-   */
-  public BatchInsertBuilder withChunkSize(int chunkSize) {
-    this.chunkSize = Check.that(chunkSize).is(gt(), 0).ok();
-    return this;
-  }
-
-  /**
-   * Specifies whether to issue a database commit directly after a chunk of beans has been
-   * saved to the database. If not, you must issue the commits yourself, if and when
-   * necessary. The default behaviour is to issue a commit.
+   * Specifies the {@link BulkLoader} to use to save the beans. If specified, the chunks
+   * are saved using the database's native bulk-load mechanism rather than a multi-row
+   * INSERT statement. The {@code BatchInsert} falls back to a multi-row INSERT statement
+   * if you request the keys generated by the database, or if the {@code BulkLoader}
+   * does not support the database. A {@link BeanValueProcessor} must not return a
+   * {@link SQLExpression} when using a {@code BulkLoader}. By default no
+   * {@code BulkLoader} is used.
    *
-   * @param commitPerChunk whether to commit after een chunk of beans has been saved
-   *       to the database
+   * @param bulkLoader the {@code BulkLoader} to use
    * @return this {@code BatchInsertBuilder}
+   * @see BulkLoader#h2()
    */
-  public BatchInsertBuilder withCommitPerChunk(boolean commitPerChunk) {
-    this.commitPerChunk = commitPerChunk;
+  public BatchInsertBuilder withBulkLoader(BulkLoader bulkLoader) {
+    this.bulkLoader = Check.notNull(bulkLoader, BULK_LOADER).ok();
     return this;
   }
 
   /**
-   * Specifies the {@code BeanValueProcessor} to use to selectively convert values in bean
-   * batches. If not specified, {@link BeanValueProcessor#identity()} is used. This
-   * basically is a no-op processor.
+   * Creates and returns a {@code BatchInsert} instance using the input provided via
+   * the other methods
    *
-   * @param processor the {@code BeanValueProcessor} to use
-   * @return this {@code BatchInsertBuilder}
+   * @param con the JDBC {@code Connection} to use for the INSERT statement
+   * @param <T> the type of the beans or records to be persisted by the
+   *       {@code BatchInsert} instance
+   * @return a {@code BatchInsert} instance
    */
-  public BatchInsertBuilder withValueProcessor(BeanValueProcessor<?> processor) {
-    this.processor = Check.notNull(processor, PROCESSOR).ok();
-    return this;
+  public <T> BatchInsert<T> prepare(Connection con) {
+    Check.notNull(con);
+    return prepare(con, null, 1);
   }
 
   /**
-   * Sets the property-to-column mapper to be used when mapping bean properties or record
-   * components to column names. Beware of the direction of the mappings: <i>from</i> bean
-   * properties <i>to</i> column names. Defaults to
-   * {@link CamelCaseToSnakeUpperCase#camelCaseToSnakeUpperCase()
-   * camelCaseToSnakeUpperCase()}, which would map {@code "camelCaseToSnakeUpperCase"} to
-   * {@code "CAMEL_CASE_TO_SNAKE_UPPER_CASE"}. (It would also map {@code "WordCase"}
-   * a.k.a. {@code "PascalCase"} to {@code "WORD_CASE"} and {@code "PASCAL_CASE"},
-   * respectively, since all characters end up in upper case anyway.)
+   * <p>Creates and returns a {@code BatchInsert} instance that saves chunks of beans
+   * concurrently, using up to {@code parallelism} connections obtained from the specified
+   * {@code DataSource}. The chunks are distributed over the connections by virtual
+   * threads, each of which uses its own connection. Since there is no transaction
+   * spanning multiple connections, each chunk is committed directly after it has been
+   * saved (unless the connections are in auto-commit mode), irrespective of what was
+   * specified via {@link #withCommitPerChunk(boolean) withCommitPerChunk()}. Generated
+   * keys are returned in the same order as the beans they belong to. If no chunk size
+   * was {@linkplain #withChunkSize(int) specified}, a list of beans is split into
+   * {@code parallelism} chunks of (nearly) equal size, so that all connections are put
+   * to work. The {@link BatchInsert#insertAll(java.util.Iterator) insertAll()} methods
+   * cannot know the number of beans up front. They use
+   * {@link BatchInsert#DEFAULT_STREAMING_CHUNK_SIZE} instead.
    *
-   * @param propertyToColumnMapper the property-to-column mapper
-   * @return this {@code BatchInsertBuilder}
-   */
-  public BatchInsertBuilder withNameMapper(NameMapper propertyToColumnMapper) {
-    Check.notNull(propertyToColumnMapper);
-    this.nameMapper = propertyToColumnMapper;
-    return this;
-  }
-
-
-  /**
-   * Creates and returns a {@code BatchInsert} instance using the input provided via
-   * the other methods
+   * <p>If a chunk fails, the uncommitted changes on its connection are rolled back, no
+   * new chunks are started, and a {@link DatabaseException} is thrown once the chunks
+   * that were already underway have been processed. The message of the exception lists
+   * the chunks (by their zero-based index) that were committed. All other chunks were
+   * not saved. Any {@link BeanValueProcessor} must be thread-safe in this case.
    *
-   * @param con the JDBC {@code Connection} to use for the INSERT statement
+   * @param dataSource the {@code DataSource} providing the connections
+   * @param parallelism the maximum number of chunks to save concurrently
    * @param <T> the type of the beans or records to be persisted by the
    *       {@code BatchInsert} instance
    * @return a {@code BatchInsert} instance
    */
-  public <T> BatchInsert<T> prepare(Connection con) {
-    Check.notNull(con);
-    Check.on(STATE, clazz, CLAZZ).is(notNull());
-    BeanReader reader = new BeanReader<>(clazz, includeExclude, properties);
-    if (tableName == null) {
-      tableName = nameMapper.map(clazz.getSimpleName());
-    }
-    BatchInsertConfig cfg = new BatchInsertConfig<>(con,
-          reader,
-          processor,
-          nameMapper,
-          tableName,
-          chunkSize,
-          commitPerChunk);
+  public <T> BatchInsert<T> prepare(DataSource dataSource, int parallelism) {
+    Check.notNull(dataSource);
+    Check.that(parallelism, PARALLELISM).is(gt(), 0);
+    return prepare(null, dataSource, parallelism);
+  }
+
+  private <T> BatchInsert<T> prepare(Connection con, DataSource ds, int parallelism) {
+    BatchInsertConfig cfg = config(con, ds, parallelism, reader(), bulkLoader, null, null);
     return new BatchInsert<>(cfg);
   }
 
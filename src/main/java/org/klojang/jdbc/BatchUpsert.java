@@ -0,0 +1,72 @@
+package org.klojang.jdbc;
+
+import org.klojang.check.Check;
+import org.klojang.jdbc.x.sql.BatchInsertConfig;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>{@code BatchUpsert} saves batches of JavaBeans or records to the database, inserting
+ * the ones that do not exist yet and updating the ones that do, with just one statement
+ * (and one round trip) per chunk of beans. Instances are configured and obtained via an
+ * {@link UpsertBuilder}. The statement generated for each chunk depends on the database:
+ *
+ * <ul>
+ *   <li>H2: {@code MERGE INTO ... KEY(...) VALUES (...),(...),...}
+ *   <li>PostgreSQL: {@code INSERT INTO ... VALUES (...),(...),... ON CONFLICT(...) DO
+ *       UPDATE SET ...}
+ *   <li>MySQL and MariaDB: {@code INSERT INTO ... VALUES (...),(...),... ON DUPLICATE
+ *       KEY UPDATE ...}
+ * </ul>
+ *
+ * <p>Apart from that, a {@code BatchUpsert} works just like a {@link BatchInsert}. The
+ * values are processed and quoted in the same way, and the same chunking,
+ * parameterization and pipelining options apply.
+ *
+ * @param <T> the type of the JavaBeans or records to save to the database
+ * @see UpsertBuilder
+ * @see SQL#upsertBatch()
+ */
+public final class BatchUpsert<T> {
+
+  private final BatchInsert<T> insert;
+
+  BatchUpsert(BatchInsertConfig<T> cfg) {
+    this.insert = new BatchInsert<>(cfg);
+  }
+
+  /**
+   * Saves the provided beans or records to the database.
+   *
+   * @param beans the beans to save
+   */
+  public void upsertBatch(List<T> beans) {
+    insert.insertBatch(beans);
+  }
+
+  /**
+   * Saves the beans or records produced by the specified {@code Iterator} to the
+   * database. See {@link BatchInsert#insertAll(Iterator)}.
+   *
+   * @param beans an {@code Iterator} over the beans to save
+   * @return the number of beans saved to the database
+   */
+  public long upsertAll(Iterator<? extends T> beans) {
+    return insert.insertAll(beans);
+  }
+
+  /**
+   * Saves the beans or records in the specified {@code Stream} to the database. See
+   * {@link BatchInsert#insertAll(Iterator)}.
+   *
+   * @param beans a {@code Stream} of the beans to save
+   * @return the number of beans saved to the database
+   */
+  public long upsertAll(Stream<? extends T> beans) {
+    Check.notNull(beans);
+    return insert.insertAll(beans.iterator());
+  }
+
+}
@@ -1,8 +1,11 @@
 package org.klojang.jdbc;
 
 import java.sql.ResultSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>Converts the rows in a JDBC {@link ResultSet} into JavaBeans, records or
@@ -124,6 +127,51 @@ public sealed interface BeanExtractor<T> extends Iterable<T>
    */
   List<T> extractAll(int sizeEstimate);
 
+  /**
+   * Returns a lazily populated {@code Stream} of the beans in the remaining rows of the
+   * {@code ResultSet}. Rows are only read from the {@code ResultSet} (and converted into
+   * beans) as the stream is consumed, so even very large result sets can be processed in
+   * constant memory, provided the JDBC driver does not itself load the entire
+   * {@code ResultSet} into memory (see {@link SQLQuery#withFetchSize(int)}). The stream
+   * does not report its size. If it is turned into a parallel stream, it is split into
+   * batches the size of the {@linkplain ResultSet#getFetchSize() fetch size} of the
+   * {@code ResultSet}. Note that closing the stream does not close the
+   * {@code ResultSet}.
+   *
+   * @return a {@code Stream} of the beans in the remaining rows of the
+   *       {@code ResultSet}
+   * @see SQLQuery#stream(Class)
+   */
+  Stream<T> stream();
+
+  /**
+   * Converts all remaining rows in the {@code ResultSet} into beans and passes them to
+   * the specified action. Contrary to the {@link Iterator} returned by
+   * {@link #iterator()}, and contrary to {@link #extract()}, this method does not
+   * allocate any objects besides the beans themselves.
+   *
+   * @param action the action to be performed for each bean
+   */
+  @Override
+  void forEach(Consumer<? super T> action);
+
+  /**
+   * Converts all remaining rows in the {@code ResultSet} into beans and passes them to
+   * the specified action, repopulating one and the same bean for every row (the
+   * "flyweight"). Thus, when extracting JavaBeans, this method allocates just a single
+   * bean, no matter how many rows the {@code ResultSet} contains. This makes it suitable
+   * for aggregating over very large result sets. The action must not hold on to the bean
+   * it receives, as it will be overwritten with the values in the next row. Properties
+   * that cannot be mapped to any column in the {@code ResultSet} are left alone, so they
+   * retain whatever value the action assigned to them. Records, and the maps produced by
+   * a {@link MapExtractor}, cannot be repopulated. For them this method behaves just like
+   * {@link #forEach(Consumer) forEach()}.
+   *
+   * @param action the action to be performed for each row
+   * @see BeanExtractorFactory#BeanExtractorFactory(Class, java.util.function.Supplier)
+   */
+  void forEachFlyweight(Consumer<? super T> action);
+
   /**
    * Returns {@code true} if the end of the {@code ResultSet} has been reached;
    * {@code false} otherwise.
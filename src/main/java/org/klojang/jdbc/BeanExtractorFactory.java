@@ -2,14 +2,15 @@ package org.klojang.jdbc;
 
 import org.klojang.check.Check;
 import org.klojang.check.fallible.FallibleFunction;
+import org.klojang.jdbc.x.BoundedCache;
 import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.rs.BeanPopulator;
 import org.klojang.jdbc.x.rs.PropertyWriter;
 import org.klojang.jdbc.x.rs.RecordFactory;
 import org.klojang.util.InvokeMethods;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import static org.klojang.check.Tag.CLASS;
@@ -22,13 +23,14 @@ import static org.klojang.util.ClassMethods.className;
  * <p>A factory for {@link BeanExtractor} instances. Generally you would create one
  * {@code BeanExtractorFactory} per SQL query. If multiple types of beans are extracted
  * from the query result (different columns feeding into different types of beans), you
- * would create more than one {@code BeanExtractorFactory} per SQL query. The very first
- * {@link ResultSet} passed to
- * {@link #getExtractor(ResultSet) BeanExtractorFactory.getExtractor()} is used to
- * configure the extraction process. {@code ResultSet} objects subsequently passed to
- * {@code getExtractor()} will be processed identically. Therefore, passing a
- * {@code ResultSet} that came from a completely different query will almost certainly
- * lead to unexpected outcomes or exceptions.
+ * would create more than one {@code BeanExtractorFactory} per SQL query. The extraction
+ * process is configured using the {@link ResultSet} passed to
+ * {@link #getExtractor(ResultSet) BeanExtractorFactory.getExtractor()}, and the
+ * configuration is cached for subsequent {@code ResultSet} objects with the same layout
+ * (that is: the same column labels and column types). Thus, a single
+ * {@code BeanExtractorFactory} can also serve queries with different SELECT clauses. It
+ * caches the configurations for at most {@value #PLAN_CACHE_SIZE} different layouts.
+ * {@code BeanExtractorFactory} instances are thread-safe.
  *
  * <p>The configuration of the extraction process may be somewhat expensive. Therefore it
  * is recommended that you store {@code BeanExtractorFactory} instances in
@@ -42,20 +44,27 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
   private static final String RECORDS_NOT_ALLOWED
         = "bean supplier not supported for immutable type ${0}";
 
-  private final ReentrantLock lock = new ReentrantLock();
+  /**
+   * The maximum number of {@code ResultSet} layouts for which a
+   * {@code BeanExtractorFactory} caches the configuration of the extraction process.
+   */
+  public static final int PLAN_CACHE_SIZE = 16;
 
   private final Class<T> clazz;
   private final Supplier<T> supplier;
   private final SessionConfig config;
 
   /**
-   * Will either be a RecordFactory in case clazz is a record type, or a PropertyWriter[]
-   * array in case it is a JavaBean type, or a row-to-bean conversion function in case
-   * clazz is null. It's called "payload" because it's the precious thing we set up just
-   * once, and which we then pass on to BeanExtractor instances retrieved from the
-   * factory.
+   * The payloads for the ResultSet layouts encountered so far. A payload is either a
+   * RecordFactory in case clazz is a record type, or a BeanPopulator in case it is a
+   * JavaBean type. It's called "payload" because it's the precious thing we set up just
+   * once (per layout), and which we then pass on to BeanExtractor instances retrieved
+   * from the factory. Null if clazz is null.
    */
-  private Object payload;
+  private final BoundedCache<ResultSetId, Object> payloads;
+
+  // Null unless clazz is null
+  private final FallibleFunction<ResultSet, T, SQLException> converter;
 
   /**
    * Creates a new {@code BeanExtractorFactory}.
@@ -68,6 +77,8 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
     this.clazz = Check.notNull(clazz).ok();
     this.supplier = clazz.isRecord() ? null : () -> newInstance(clazz);
     this.config = Utils.DEFAULT_CONFIG;
+    this.payloads = newPayloadCache();
+    this.converter = null;
   }
 
   /**
@@ -83,6 +94,8 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
     this.clazz = Check.notNull(clazz, CLASS).ok();
     this.supplier = clazz.isRecord() ? null : () -> newInstance(clazz);
     this.config = Check.notNull(config, CONFIG).ok();
+    this.payloads = newPayloadCache();
+    this.converter = null;
   }
 
   /**
@@ -102,6 +115,8 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
           .ok();
     this.supplier = Check.notNull(beanSupplier, BEAN_SUPPLIER).ok();
     this.config = Utils.DEFAULT_CONFIG;
+    this.payloads = newPayloadCache();
+    this.converter = null;
   }
 
   /**
@@ -123,6 +138,8 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
           .ok();
     this.supplier = Check.notNull(beanSupplier, BEAN_SUPPLIER).ok();
     this.config = Check.notNull(config, CONFIG).ok();
+    this.payloads = newPayloadCache();
+    this.converter = null;
   }
 
   /**
@@ -141,7 +158,8 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
     this.clazz = null;
     this.supplier = null;
     this.config = null;
-    this.payload = converter;
+    this.payloads = null;
+    this.converter = converter;
   }
 
   /**
@@ -155,7 +173,6 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
   @SuppressWarnings("unchecked")
   public BeanExtractor<T> getExtractor(ResultSet rs) {
     if (clazz == null) {
-      var converter = (FallibleFunction<ResultSet, T, SQLException>) payload;
       return new CustomExtractor<>(rs, converter);
     } else if (clazz.isRecord()) {
       return recordExtractor(rs);
@@ -164,35 +181,27 @@ public final class BeanExtractorFactory<T> implements ExtractorFactory<T> {
   }
 
   private DefaultBeanExtractor<T> defaultExtractor(ResultSet rs) {
-    PropertyWriter<?, ?>[] writers;
-    if ((writers = (PropertyWriter<?, ?>[]) payload) == null) {
-      lock.lock();
-      try {
-        // Check again, but now we know for sure we are the only one in here
-        if (payload == null) {
-          payload = writers = createWriters(rs, clazz, config);
-        }
-      } finally {
-        lock.unlock();
-      }
-    }
-    return new DefaultBeanExtractor<>(rs, writers, supplier);
+    BeanPopulator populator = (BeanPopulator) payloads.get(ResultSetId.of(rs), k -> {
+      PropertyWriter<?, ?>[] writers = createWriters(rs, clazz, config);
+      return config.compileBeanAccessors()
+            ? BeanPopulator.compile(writers, clazz)
+            : BeanPopulator.create(writers);
+    });
+    return new DefaultBeanExtractor<>(rs,
+          populator,
+          supplier,
+          config.getExtractionParallelism());
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
   private RecordExtractor recordExtractor(ResultSet rs) {
-    RecordFactory recordFactory;
-    if ((recordFactory = (RecordFactory) payload) == null) {
-      lock.lock();
-      try {
-        if (payload == null) {
-          payload = recordFactory = new RecordFactory<>((Class) clazz, rs, config);
-        }
-      } finally {
-        lock.unlock();
-      }
-    }
-    return new RecordExtractor<>(rs, recordFactory);
+    RecordFactory recordFactory = (RecordFactory) payloads.get(ResultSetId.of(rs),
+          k -> new RecordFactory<>((Class) clazz, rs, config));
+    return new RecordExtractor<>(rs, recordFactory, config.getExtractionParallelism());
+  }
+
+  private static BoundedCache<ResultSetId, Object> newPayloadCache() {
+    return new BoundedCache<>("BeanExtractorFactory", PLAN_CACHE_SIZE);
   }
 
 
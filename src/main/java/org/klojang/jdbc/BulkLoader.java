@@ -0,0 +1,75 @@
+package org.klojang.jdbc;
+
+import org.klojang.jdbc.x.sql.H2BulkLoader;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * <p>A {@code BulkLoader} saves rows of values to the database using the database's
+ * native bulk-load mechanism (for example H2's {@code CSVREAD} function, PostgreSQL's
+ * {@code COPY} command, or MySQL's {@code LOAD DATA LOCAL INFILE} command) rather than
+ * an INSERT statement. A {@code BulkLoader} can be plugged into a {@link BatchInsert}
+ * via {@link BatchInsertBuilder#withBulkLoader(BulkLoader)
+ * BatchInsertBuilder.withBulkLoader()}. The {@code BatchInsert} still takes care of
+ * reading the values from the beans, running them through the
+ * {@link BeanValueProcessor}, and splitting the batch into chunks. The
+ * {@code BulkLoader} is called once for each chunk.
+ *
+ * <p>Bulk-load mechanisms generally do not return the keys generated by the database.
+ * Therefore, the {@code BatchInsert} falls back to a multi-row INSERT statement if keys
+ * are requested. It also falls back to a multi-row INSERT statement if the
+ * {@code BulkLoader} does not {@linkplain #isSupported(Connection) support} the
+ * database.
+ *
+ * <p>Implementations must be thread-safe, as the same {@code BulkLoader} may be called
+ * concurrently for different connections.
+ *
+ * @see BatchInsertBuilder#withBulkLoader(BulkLoader)
+ */
+public interface BulkLoader {
+
+  /**
+   * Returns a {@code BulkLoader} for H2. It writes the values to a temporary CSV file
+   * and then copies them into the table using
+   * {@code INSERT INTO ... SELECT * FROM CSVREAD(...)}. Since the CSV file is read by
+   * the database server, this {@code BulkLoader} can only be used with embedded H2
+   * databases, or with H2 servers running on the same host. Values are written using
+   * their {@code toString()} representation.
+   *
+   * @return a {@code BulkLoader} for H2
+   */
+  static BulkLoader h2() {
+    return H2BulkLoader.INSTANCE;
+  }
+
+  /**
+   * Returns whether this {@code BulkLoader} can be used to save rows through the
+   * specified connection.
+   *
+   * @param con the JDBC {@code Connection}
+   * @return whether this {@code BulkLoader} can be used for the connection
+   * @throws SQLException if a database access error occurs
+   */
+  boolean isSupported(Connection con) throws SQLException;
+
+  /**
+   * Saves the specified rows to the specified table. The values in each row correspond
+   * to the specified columns. The values have already been processed by the
+   * {@link BeanValueProcessor}, if any. They will never be {@link SQLExpression}
+   * instances. The {@code BulkLoader} must not commit or roll back the transaction.
+   *
+   * @param con the JDBC {@code Connection}
+   * @param tableName the name of the table
+   * @param columns the names of the columns
+   * @param rows the rows to save
+   * @return the number of rows saved
+   * @throws SQLException if a database access error occurs
+   * @throws IOException if an I/O error occurs while transferring the rows
+   */
+  long load(Connection con, String tableName, List<String> columns, List<Object[]> rows)
+        throws SQLException, IOException;
+
+}
@@ -0,0 +1,247 @@
+package org.klojang.jdbc;
+
+import org.klojang.check.Check;
+import org.klojang.jdbc.x.Err;
+import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.rs.ColumnBuffer;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.klojang.check.CommonChecks.instanceOf;
+import static org.klojang.check.CommonChecks.keyIn;
+import static org.klojang.jdbc.x.Err.DUPLICATE_COLUMN_NAME;
+import static org.klojang.jdbc.x.Strings.COLUMN;
+
+/**
+ * <p>A column-oriented ("struct-of-arrays") copy of a {@link ResultSet}. Instead of
+ * creating one object per row, a {@code ColumnarResult} stores the values of each column
+ * in a single array. Integral, floating-point and boolean columns are stored in arrays of
+ * primitives, so no object at all is created for their values. String columns are
+ * dictionary-encoded: each distinct string is stored just once, and for each row an
+ * {@code int} code points into the dictionary. All other columns are stored in an
+ * {@code Object[]} array. This makes a {@code ColumnarResult} well-suited for analytical
+ * processing of large numbers of rows. {@code ColumnarResult} instances are obtained via
+ * {@link SQLQuery#getColumnarResult() SQLQuery.getColumnarResult()}.
+ *
+ * <p>Which columns are stored in which kind of array is determined by the SQL datatype
+ * of the column:
+ *
+ * <ul>
+ *   <li>{@code int[]}: {@link java.sql.Types#INTEGER INTEGER},
+ *      {@link java.sql.Types#SMALLINT SMALLINT} and
+ *      {@link java.sql.Types#TINYINT TINYINT}
+ *   <li>{@code long[]}: {@link java.sql.Types#BIGINT BIGINT}
+ *   <li>{@code double[]}: {@link java.sql.Types#DOUBLE DOUBLE},
+ *      {@link java.sql.Types#FLOAT FLOAT} and {@link java.sql.Types#REAL REAL}
+ *   <li>{@code boolean[]}: {@link java.sql.Types#BOOLEAN BOOLEAN}
+ *   <li>dictionary-encoded strings: {@link java.sql.Types#VARCHAR VARCHAR},
+ *      {@link java.sql.Types#CHAR CHAR}, {@link java.sql.Types#CLOB CLOB}, etc.
+ *   <li>{@code Object[]}: all other datatypes. The values have the same type as they
+ *      would have when extracted using a {@link MapExtractor}.
+ * </ul>
+ *
+ * <p>SQL NULL values are recorded separately (see {@link #isNull(String, int)}). In the
+ * primitive arrays, they show up as zero or {@code false}. In the dictionary-encoded
+ * string columns they show up as code -1.
+ *
+ * <p>Columns are identified by their name as produced by the
+ * {@linkplain SessionConfig#getColumnToPropertyMapper() column-to-property mapper}. If
+ * two columns end up with the same name, a {@link DatabaseException} is thrown. Use
+ * column aliases to disambiguate them. The arrays returned by a {@code ColumnarResult}
+ * are its backing arrays. They are not copied, so they should not be modified.
+ *
+ * @author Ayco Holleman
+ */
+public final class ColumnarResult {
+
+  static ColumnarResult create(ResultSet rs, SessionConfig config, int sizeEstimate)
+        throws Throwable {
+    ResultSetId id = new ResultSetId(rs);
+    String[] labels = id.labels();
+    int[] types = id.types();
+    ColumnBuffer[] buffers = new ColumnBuffer[labels.length];
+    Map<String, ColumnBuffer> columns = LinkedHashMap.newLinkedHashMap(labels.length);
+    for (int i = 0; i < labels.length; ++i) {
+      String name = config.getColumnToPropertyMapper().map(labels[i]);
+      Utils.check(name).isNot(keyIn(), columns, DUPLICATE_COLUMN_NAME, labels[i]);
+      buffers[i] = ColumnBuffer.create(i + 1, types[i], sizeEstimate);
+      columns.put(name, buffers[i]);
+    }
+    int size = 0;
+    while (rs.next()) {
+      for (ColumnBuffer buffer : buffers) {
+        buffer.read(rs);
+      }
+      ++size;
+    }
+    for (ColumnBuffer buffer : buffers) {
+      buffer.trim();
+    }
+    return new ColumnarResult(columns, size);
+  }
+
+  private final Map<String, ColumnBuffer> columns;
+  private final int size;
+
+  private ColumnarResult(Map<String, ColumnBuffer> columns, int size) {
+    this.columns = columns;
+    this.size = size;
+  }
+
+  /**
+   * Returns the number of rows in this {@code ColumnarResult}.
+   *
+   * @return the number of rows in this {@code ColumnarResult}
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the names of the columns, in the order in which they appear in the SELECT
+   * clause.
+   *
+   * @return the names of the columns
+   */
+  public List<String> getColumnNames() {
+    return List.copyOf(columns.keySet());
+  }
+
+  /**
+   * Returns the type of the array in which the values of the specified column are
+   * stored: {@code int.class}, {@code long.class}, {@code double.class},
+   * {@code boolean.class}, {@code String.class} (for dictionary-encoded strings) or
+   * {@code Object.class}.
+   *
+   * @param column the column name
+   * @return the type of the array in which the values of the column are stored
+   */
+  public Class<?> getColumnType(String column) {
+    return buffer(column).type();
+  }
+
+  /**
+   * Returns whether the value of the specified column in the specified row is SQL NULL.
+   *
+   * @param column the column name
+   * @param row the row index (zero-based)
+   * @return whether the value is SQL NULL
+   */
+  public boolean isNull(String column, int row) {
+    return buffer(column).isNull(row);
+  }
+
+  /**
+   * Returns the value of the specified column in the specified row. Values stored in a
+   * primitive array are boxed. Returns {@code null} for SQL NULL values.
+   *
+   * @param column the column name
+   * @param row the row index (zero-based)
+   * @return the value
+   */
+  public Object get(String column, int row) {
+    return buffer(column).get(row);
+  }
+
+  /**
+   * Returns the values of the specified {@code int} column.
+   *
+   * @param column the column name
+   * @return the values of the column
+   */
+  public int[] getInts(String column) {
+    return buffer(column, ColumnBuffer.Ints.class, "int").values();
+  }
+
+  /**
+   * Returns the values of the specified {@code long} column.
+   *
+   * @param column the column name
+   * @return the values of the column
+   */
+  public long[] getLongs(String column) {
+    return buffer(column, ColumnBuffer.Longs.class, "long").values();
+  }
+
+  /**
+   * Returns the values of the specified {@code double} column.
+   *
+   * @param column the column name
+   * @return the values of the column
+   */
+  public double[] getDoubles(String column) {
+    return buffer(column, ColumnBuffer.Doubles.class, "double").values();
+  }
+
+  /**
+   * Returns the values of the specified {@code boolean} column.
+   *
+   * @param column the column name
+   * @return the values of the column
+   */
+  public boolean[] getBooleans(String column) {
+    return buffer(column, ColumnBuffer.Booleans.class, "boolean").values();
+  }
+
+  /**
+   * Returns the value of the specified string column in the specified row.
+   *
+   * @param column the column name
+   * @param row the row index (zero-based)
+   * @return the value
+   */
+  public String getString(String column, int row) {
+    return buffer(column, ColumnBuffer.EncodedStrings.class, "String").get(row);
+  }
+
+  /**
+   * Returns the dictionary codes of the specified string column. Each code is an index
+   * into the list returned by {@link #getDictionary(String) getDictionary()}, or -1 for
+   * SQL NULL.
+   *
+   * @param column the column name
+   * @return the dictionary codes of the column
+   */
+  public int[] getStringCodes(String column) {
+    return buffer(column, ColumnBuffer.EncodedStrings.class, "String").codes();
+  }
+
+  /**
+   * Returns the distinct values of the specified string column, in order of first
+   * appearance.
+   *
+   * @param column the column name
+   * @return the distinct values of the column
+   */
+  public List<String> getDictionary(String column) {
+    var buffer = buffer(column, ColumnBuffer.EncodedStrings.class, "String");
+    return Collections.unmodifiableList(buffer.dictionary());
+  }
+
+  /**
+   * Returns the values of the specified column if it is neither a primitive column nor a
+   * string column.
+   *
+   * @param column the column name
+   * @return the values of the column
+   */
+  public Object[] getObjects(String column) {
+    return buffer(column, ColumnBuffer.OtherValues.class, "Object").values();
+  }
+
+  private ColumnBuffer buffer(String column) {
+    Check.notNull(column, COLUMN).is(keyIn(), columns);
+    return columns.get(column);
+  }
+
+  private <T extends ColumnBuffer> T buffer(String column, Class<T> type, String name) {
+    ColumnBuffer buffer = buffer(column);
+    Check.that(buffer).is(instanceOf(), type, Err.COLUMN_TYPE_MISMATCH, column, name);
+    return type.cast(buffer);
+  }
+
+}
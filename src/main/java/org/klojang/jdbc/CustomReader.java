@@ -14,7 +14,14 @@ import java.sql.SQLException;
  * acquired through a {@code CustomReader}, including closing it. <i>Klojang JDBC</i> does
  * not protect itself against such unintended usage and you will most likely trigger an
  * exception if you keep making <i>Klojang JDBC</i> calls afterward.
- * 
+ *
+ * <p>For primitive bean properties and record components you can return one of the
+ * primitive specializations of {@code CustomReader} ({@link OfInt}, {@link OfLong},
+ * {@link OfDouble} and {@link OfBoolean}). When populating records, or JavaBeans with
+ * {@link SessionConfig#compileBeanAccessors() compiled accessors}, the values they
+ * produce are passed on to the record constructor or property setter without being
+ * boxed first.
+ *
  * @see SessionConfig#getCustomReader(Class, String, Class, int)
  */
 @FunctionalInterface
@@ -30,4 +37,93 @@ public interface CustomReader {
    *       error occurs
    */
   Object getValue(ResultSet resultSet, int columnIndex) throws SQLException;
+
+  /**
+   * A {@code CustomReader} that produces {@code int} values.
+   */
+  @FunctionalInterface
+  interface OfInt extends CustomReader {
+    /**
+     * Retrieves the value of the designated column as an {@code int}.
+     *
+     * @param resultSet the {@code ResultSet}
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return the column value
+     * @throws SQLException if the columnIndex is not valid or if a database access
+     *       error occurs
+     */
+    int getInt(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    @Override
+    default Object getValue(ResultSet resultSet, int columnIndex) throws SQLException {
+      return getInt(resultSet, columnIndex);
+    }
+  }
+
+  /**
+   * A {@code CustomReader} that produces {@code long} values.
+   */
+  @FunctionalInterface
+  interface OfLong extends CustomReader {
+    /**
+     * Retrieves the value of the designated column as a {@code long}.
+     *
+     * @param resultSet the {@code ResultSet}
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return the column value
+     * @throws SQLException if the columnIndex is not valid or if a database access
+     *       error occurs
+     */
+    long getLong(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    @Override
+    default Object getValue(ResultSet resultSet, int columnIndex) throws SQLException {
+      return getLong(resultSet, columnIndex);
+    }
+  }
+
+  /**
+   * A {@code CustomReader} that produces {@code double} values.
+   */
+  @FunctionalInterface
+  interface OfDouble extends CustomReader {
+    /**
+     * Retrieves the value of the designated column as a {@code double}.
+     *
+     * @param resultSet the {@code ResultSet}
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return the column value
+     * @throws SQLException if the columnIndex is not valid or if a database access
+     *       error occurs
+     */
+    double getDouble(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    @Override
+    default Object getValue(ResultSet resultSet, int columnIndex) throws SQLException {
+      return getDouble(resultSet, columnIndex);
+    }
+  }
+
+  /**
+   * A {@code CustomReader} that produces {@code boolean} values.
+   */
+  @FunctionalInterface
+  interface OfBoolean extends CustomReader {
+    /**
+     * Retrieves the value of the designated column as a {@code boolean}.
+     *
+     * @param resultSet the {@code ResultSet}
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return the column value
+     * @throws SQLException if the columnIndex is not valid or if a database access
+     *       error occurs
+     */
+    boolean getBoolean(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    @Override
+    default Object getValue(ResultSet resultSet, int columnIndex) throws SQLException {
+      return getBoolean(resultSet, columnIndex);
+    }
+  }
+
 }
@@ -1,19 +1,56 @@
 package org.klojang.jdbc;
 
-import org.klojang.jdbc.x.rs.PropertyWriter;
+import org.klojang.check.fallible.FallibleFunction;
+import org.klojang.jdbc.x.rs.BeanPopulator;
+import org.klojang.jdbc.x.rs.RowDecoder;
+import org.klojang.jdbc.x.rs.RowPipeline;
 
 import java.sql.ResultSet;
 import java.util.function.Supplier;
 
-import static org.klojang.jdbc.x.rs.PropertyWriter.writeAll;
-
 final class DefaultBeanExtractor<T> extends AbstractBeanExtractor<T> {
 
+  private final BeanPopulator populator;
+  private final Supplier<T> supplier;
+  private final int parallelism;
+
   DefaultBeanExtractor(ResultSet rs,
-        PropertyWriter<?, ?>[] writers,
-        Supplier<T> supplier) {
-    super(rs, x -> writeAll(x, supplier, writers));
+        BeanPopulator populator,
+        Supplier<T> supplier,
+        int parallelism) {
+    super(rs, x -> {
+      T bean = supplier.get();
+      populator.populate(x, bean);
+      return bean;
+    });
+    this.populator = populator;
+    this.supplier = supplier;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  RowPipeline<T> pipeline() {
+    if (parallelism > 1) {
+      RowDecoder<T> decoder = populator.decoder(supplier);
+      if (decoder != null) {
+        return new RowPipeline<>(decoder, parallelism);
+      }
+    }
+    return null;
   }
 
+  // For testing
+  boolean isCompiled() {
+    return populator.isCompiled();
+  }
+
+  @Override
+  FallibleFunction<ResultSet, T, ? extends Throwable> flyweightConverter(T bean) {
+    T flyweight = bean == null ? supplier.get() : bean;
+    return x -> {
+      populator.populate(x, flyweight);
+      return flyweight;
+    };
+  }
 
 }
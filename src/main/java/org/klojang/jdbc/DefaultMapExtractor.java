@@ -1,6 +1,7 @@
 package org.klojang.jdbc;
 
 import org.klojang.jdbc.x.rs.KeyWriter;
+import org.klojang.jdbc.x.rs.RowMap;
 
 import java.sql.ResultSet;
 import java.util.Map;
@@ -10,8 +11,8 @@ import static org.klojang.jdbc.x.rs.KeyWriter.toMap;
 final class DefaultMapExtractor extends AbstractBeanExtractor<Map<String, Object>>
       implements MapExtractor {
 
-  DefaultMapExtractor(ResultSet rs, KeyWriter<?>[] writers) {
-    super(rs, x -> toMap(x, writers));
+  DefaultMapExtractor(ResultSet rs, KeyWriter<?>[] writers, RowMap.Keys keys) {
+    super(rs, x -> toMap(x, writers, keys));
   }
 
 }
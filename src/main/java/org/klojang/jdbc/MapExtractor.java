@@ -9,6 +9,13 @@ import java.util.Map;
  * {@link MapExtractorFactory#getExtractor(ResultSet)
  * MapExtractorFactory.getExtractor()}.
  *
+ * <p>The maps produced by a {@code MapExtractor} are compact: all maps extracted from
+ * the same {@code ResultSet} share a single lookup table for their keys, and each map
+ * only stores its own values. Iteration order is the order of the columns in the
+ * {@code ResultSet}. The maps can be modified freely. Changing the value of an existing
+ * key is cheap. Adding or removing a key makes the map copy itself into a regular
+ * {@link java.util.LinkedHashMap}.
+ *
  * @author Ayco Holleman
  * @see MapExtractorFactory
  * @see BeanExtractor
@@ -1,12 +1,13 @@
 package org.klojang.jdbc;
 
 import org.klojang.check.Check;
+import org.klojang.jdbc.x.BoundedCache;
 import org.klojang.jdbc.x.Utils;
 import org.klojang.jdbc.x.rs.KeyWriter;
+import org.klojang.jdbc.x.rs.RowMap;
 
 import java.sql.ResultSet;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
 
 import static org.klojang.jdbc.x.rs.KeyWriter.createWriters;
 
@@ -14,46 +15,47 @@ import static org.klojang.jdbc.x.rs.KeyWriter.createWriters;
  * <p>A factory for {@link MapExtractor} instances. This class behaves similarly to the
  * {@link BeanExtractorFactory} class. See the comments for that class for more details.
  *
- * <p>A single {@code MapExtractor} can more easily be used for multiple queries than a
- * {@link BeanExtractor} (again, see the comments for the {@link BeanExtractorFactory}
- * class):
+ * <p>A {@code MapExtractorFactory} configures the extraction process separately for
+ * each {@code ResultSet} layout (that is: each combination of column labels and column
+ * types) it encounters, and caches the configuration for at most
+ * {@value #PLAN_CACHE_SIZE} layouts. Thus, a single {@code MapExtractorFactory} can
+ * serve multiple queries, from multiple threads:
  *
  * <blockquote><pre>{@code
  * static final MapExtractorFactory FACTORY = new MapExtractorFactory();
  *
- *  // ...
- *
- *  MapExtractor sharedExtractor;
+ * // ...
  *
  * String sql = "SELECT EMP_ID AS ID, EMP_NAME AS NAME FROM EMPLOYEE";
  * try(ResultSet rs = ...) { // execute SQL and get ResultSet
- *   sharedExtractor = factory.getExtractor(rs);
- *   Map<String, Object> emp = sharedExtractor.extract().get();
+ *   Map<String, Object> emp = FACTORY.getExtractor(rs).extract().get();
  *   assertEquals("John Smith", emp.get("name"));
  * }
  *
- * String sql = "SELECT DEPT_ID AS ID, DEPT_NAME AS NAME FROM DEPARTMENT;
+ * String sql = "SELECT DEPT_NAME, LOCATION FROM DEPARTMENT";
  * try(ResultSet rs = ...) {
- *   // Can still use the same MapExtractor because column labels
- *   // and column types are the same
- *   Map<String, Object> dept = sharedExtractor.extract().get();
- *   assertEquals("Sales", dept.get("name"));
+ *   Map<String, Object> dept = FACTORY.getExtractor(rs).extract().get();
+ *   assertEquals("Sales", dept.get("deptName"));
  * }
  * }</pre></blockquote>
  *
- * <p>However, you don't gain much in terms of performance, because, once a
- * {@code MapExtractorFactory} has configured itself using the very first
- * {@code ResultSet} passed to it, it does not impose any further overhead.
- *
  * @author Ayco Holleman
  */
 public final class MapExtractorFactory implements ExtractorFactory<Map<String, Object>> {
 
-  private final ReentrantLock lock = new ReentrantLock();
+  /**
+   * The maximum number of {@code ResultSet} layouts for which a
+   * {@code MapExtractorFactory} caches the configuration of the extraction process.
+   */
+  public static final int PLAN_CACHE_SIZE = 16;
+
+  private record Payload(KeyWriter<?>[] writers, RowMap.Keys keys) { }
 
   private final SessionConfig config;
 
-  private KeyWriter<?>[] payload;
+  private final BoundedCache<ResultSetId, Payload> payloads = new BoundedCache<>(
+        "MapExtractorFactory",
+        PLAN_CACHE_SIZE);
 
   /**
    * Creates a new {@code MapExtractorFactory}.
@@ -81,18 +83,10 @@ public final class MapExtractorFactory implements ExtractorFactory<Map<String, O
    *       {@code ResultSet} into {@code Map<String, Object>} pseudo-objects.
    */
   public MapExtractor getExtractor(ResultSet rs) {
-    KeyWriter<?>[] writers;
-    if ((writers = payload) == null) {
-      lock.lock();
-      try {
-        // Check again, but now we know for sure we are the only one in here
-        if (payload == null) {
-          payload = writers = createWriters(rs, config);
-        }
-      } finally {
-        lock.unlock();
-      }
-    }
-    return new DefaultMapExtractor(rs, writers);
+    Payload payload = payloads.get(ResultSetId.of(rs), k -> {
+      KeyWriter<?>[] writers = createWriters(rs, config);
+      return new Payload(writers, RowMap.Keys.of(writers));
+    });
+    return new DefaultMapExtractor(rs, payload.writers(), payload.keys());
   }
 }
@@ -38,9 +38,21 @@ import static org.klojang.util.StringMethods.append;
 public final class Quoter {
 
   private final Statement stmt;
+  // Whether quoteValue() may bypass the Statement (see JDBC.usesStandardQuoting())
+  private final boolean standard;
 
   Quoter(Statement stmt) {
+    this(stmt, false);
+  }
+
+  Quoter(Statement stmt, boolean standard) {
     this.stmt = stmt;
+    this.standard = standard;
+  }
+
+  // Whether quoteValue() can safely be called without involving the connection
+  boolean isStandard() {
+    return standard;
   }
 
   /**
@@ -62,6 +74,9 @@ public final class Quoter {
    * @see Statement#enquoteLiteral(String)
    */
   public String quoteValue(Object value) {
+    if (standard) {
+      return JDBC.quoteStandard(value);
+    }
     try {
       return JDBC.quote(stmt, value);
     } catch (SQLException e) {
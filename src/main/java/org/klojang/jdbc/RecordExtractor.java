@@ -1,13 +1,31 @@
 package org.klojang.jdbc;
 
 import org.klojang.jdbc.x.rs.RecordFactory;
+import org.klojang.jdbc.x.rs.RowDecoder;
+import org.klojang.jdbc.x.rs.RowPipeline;
 
 import java.sql.ResultSet;
 
 final class RecordExtractor<T extends Record> extends AbstractBeanExtractor<T> {
 
-  RecordExtractor(ResultSet rs, RecordFactory<T> factory) {
+  private final RecordFactory<T> factory;
+  private final int parallelism;
+
+  RecordExtractor(ResultSet rs, RecordFactory<T> factory, int parallelism) {
     super(rs, x -> factory.createRecord(x));
+    this.factory = factory;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  RowPipeline<T> pipeline() {
+    if (parallelism > 1) {
+      RowDecoder<T> decoder = factory.decoder();
+      if (decoder != null) {
+        return new RowPipeline<>(decoder, parallelism);
+      }
+    }
+    return null;
   }
 
 }
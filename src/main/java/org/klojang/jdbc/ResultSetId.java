@@ -1,17 +1,24 @@
 package org.klojang.jdbc;
 
+import org.klojang.jdbc.x.Utils;
+
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.Arrays;
 
 /**
- * Not currently used. See {@link BeanExtractorCache} and {@link MapExtractorCache}.
+ * Identifies the layout of a {@code ResultSet}: the labels and SQL types of its columns.
+ * Used as the key for the extraction plans cached by {@link BeanExtractorFactory} and
+ * {@link MapExtractorFactory}. The hash code is computed just once, up front, so lookups
+ * mostly boil down to comparing two int values, and, in case of a match, two small
+ * arrays.
  */
 final class ResultSetId {
 
   private final String[] labels;
   private final int[] types;
+  private final int hash;
 
   ResultSetId(ResultSet rs) throws SQLException {
     ResultSetMetaData rsmd = rs.getMetaData();
@@ -22,12 +29,24 @@ final class ResultSetId {
       labels[i] = rsmd.getColumnLabel(i + 1);
       types[i] = rsmd.getColumnType(i + 1);
     }
+    hash = (Arrays.hashCode(labels) * 31) + Arrays.hashCode(types);
+  }
+
+  static ResultSetId of(ResultSet rs) {
+    try {
+      return new ResultSetId(rs);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
   }
 
+  String[] labels() { return labels; }
+
+  int[] types() { return types; }
+
   @Override
   public int hashCode() {
-    int hash = Arrays.hashCode(labels);
-    return (hash * 31) + Arrays.hashCode(types);
+    return hash;
   }
 
   @Override
@@ -35,7 +54,9 @@ final class ResultSetId {
     if (this == obj) {
       return true;
     }
-    ResultSetId other = (ResultSetId) obj;
-    return Arrays.equals(types, other.types) && Arrays.equals(labels, other.labels);
+    return obj instanceof ResultSetId other
+          && hash == other.hash
+          && Arrays.equals(types, other.types)
+          && Arrays.equals(labels, other.labels);
   }
 }
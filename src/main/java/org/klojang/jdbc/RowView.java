@@ -0,0 +1,318 @@
+package org.klojang.jdbc;
+
+import org.klojang.check.Check;
+import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.rs.ColumnReader;
+import org.klojang.jdbc.x.rs.ColumnReaderFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.klojang.check.CommonChecks.keyIn;
+import static org.klojang.jdbc.x.Strings.COLUMN;
+
+/**
+ * <p>A cursor-like view of the current row of a {@link ResultSet}. A {@code RowView}
+ * sits in between the raw {@code ResultSet} and full-blown bean extraction. Columns are
+ * identified by their name as produced by the
+ * {@linkplain SessionConfig#getColumnToPropertyMapper() column-to-property mapper}, or
+ * by their index. The typed accessors ({@link #getInt(String) getInt()},
+ * {@link #getString(String) getString()}, etc.) read straight from the
+ * {@code ResultSet}, without creating any intermediate objects. The accessors that take
+ * a column name must look up the column index, however, for every value they read. The
+ * same {@code RowView} instance is used for all rows. {@code RowView} instances are obtained
+ * via {@link SQLQuery#getRowView() SQLQuery.getRowView()}, or are passed to you by
+ * {@link SQLQuery#forEachRow(java.util.function.Consumer) SQLQuery.forEachRow()}:
+ *
+ * <blockquote><pre>{@code
+ * long[] total = new long[1];
+ * try(SQLQuery query = sql.session(con).prepareQuery()) {
+ *   query.forEachRow(row -> total[0] += row.getLong("salary"));
+ * }
+ * }</pre></blockquote>
+ *
+ * <p>The accessors that take a column index are the fast path. When reading many rows,
+ * look up the column index once, and then use those accessors:
+ *
+ * <blockquote><pre>{@code
+ * RowView row = query.getRowView();
+ * int salary = row.indexOf("salary");
+ * while(row.next()) {
+ *   total += row.getLong(salary);
+ * }
+ * }</pre></blockquote>
+ *
+ * <p>The same goes for {@code forEachRow()}. The column indexes do not change from row
+ * to row, so you can use {@link SQLQuery#getRowView() getRowView()} to look them up
+ * beforehand:
+ *
+ * <blockquote><pre>{@code
+ * RowView view = query.getRowView();
+ * int salary = view.indexOf("salary");
+ * query.forEachRow(row -> total[0] += row.getLong(salary));
+ * }</pre></blockquote>
+ *
+ * <p>As with {@link ResultSet#getInt(int) ResultSet.getInt()}, the accessors for
+ * primitive types return zero or {@code false} if the value was SQL NULL. Call
+ * {@link #wasNull()} to find out whether this was the case. A {@code RowView} is only
+ * valid as long as the {@code SQLQuery} that produced it is open. It is not
+ * thread-safe.
+ *
+ * @author Ayco Holleman
+ */
+public final class RowView {
+
+  static RowView create(ResultSet rs, SessionConfig config) throws SQLException {
+    ResultSetId id = new ResultSetId(rs);
+    String[] names = id.labels().clone();
+    Map<String, Integer> indexes = HashMap.newHashMap(names.length);
+    for (int i = 0; i < names.length; ++i) {
+      names[i] = config.getColumnToPropertyMapper().map(names[i]);
+      indexes.putIfAbsent(names[i], i + 1);
+    }
+    return new RowView(rs, names, id.types(), indexes);
+  }
+
+  private final ResultSet rs;
+  private final String[] names;
+  private final int[] types;
+  private final Map<String, Integer> indexes;
+
+  // The reader most recently used by get(int, Class) for each column, and the type it
+  // converts to. Looking up a reader is cheap, but not as cheap as an array access.
+  private final ColumnReader<?, ?>[] readers;
+  private final Class<?>[] readerTypes;
+
+  private RowView(ResultSet rs,
+        String[] names,
+        int[] types,
+        Map<String, Integer> indexes) {
+    this.rs = rs;
+    this.names = names;
+    this.types = types;
+    this.indexes = indexes;
+    this.readers = new ColumnReader[names.length];
+    this.readerTypes = new Class[names.length];
+  }
+
+  /**
+   * Moves the cursor to the next row. Returns {@code false} if there are no more rows.
+   *
+   * @return whether the cursor was moved to a new row
+   */
+  public boolean next() {
+    try {
+      return rs.next();
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the names of the columns, in the order in which they appear in the SELECT
+   * clause.
+   *
+   * @return the names of the columns
+   */
+  public List<String> getColumnNames() {
+    return List.of(names);
+  }
+
+  /**
+   * Returns the index of the specified column. As with JDBC, column indexes are
+   * one-based. If the SELECT clause contains more than one column with the specified
+   * name, the index of the first one is returned.
+   *
+   * @param column the column name
+   * @return the index of the column
+   */
+  public int indexOf(String column) {
+    // Called for every value read through the name-based accessors, so only do the
+    // (more expensive) argument checks if the lookup fails
+    Integer index = column == null ? null : indexes.get(column);
+    if (index == null) {
+      Check.notNull(column, COLUMN).is(keyIn(), indexes);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the value of the specified column as an {@code int}.
+   *
+   * @param column the column name
+   * @return the value of the column
+   */
+  public int getInt(String column) {
+    return getInt(indexOf(column));
+  }
+
+  /**
+   * Returns the value of the specified column as an {@code int}.
+   *
+   * @param index the column index
+   * @return the value of the column
+   */
+  public int getInt(int index) {
+    try {
+      return rs.getInt(index);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code long}.
+   *
+   * @param column the column name
+   * @return the value of the column
+   */
+  public long getLong(String column) {
+    return getLong(indexOf(column));
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code long}.
+   *
+   * @param index the column index
+   * @return the value of the column
+   */
+  public long getLong(int index) {
+    try {
+      return rs.getLong(index);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code double}.
+   *
+   * @param column the column name
+   * @return the value of the column
+   */
+  public double getDouble(String column) {
+    return getDouble(indexOf(column));
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code double}.
+   *
+   * @param index the column index
+   * @return the value of the column
+   */
+  public double getDouble(int index) {
+    try {
+      return rs.getDouble(index);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code boolean}.
+   *
+   * @param column the column name
+   * @return the value of the column
+   */
+  public boolean getBoolean(String column) {
+    return getBoolean(indexOf(column));
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code boolean}.
+   *
+   * @param index the column index
+   * @return the value of the column
+   */
+  public boolean getBoolean(int index) {
+    try {
+      return rs.getBoolean(index);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code String}.
+   *
+   * @param column the column name
+   * @return the value of the column
+   */
+  public String getString(String column) {
+    return getString(indexOf(column));
+  }
+
+  /**
+   * Returns the value of the specified column as a {@code String}.
+   *
+   * @param index the column index
+   * @return the value of the column
+   */
+  public String getString(int index) {
+    try {
+      return rs.getString(index);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns the value of the specified column, converted to the specified type. The
+   * conversion is the same as the one that would take place when populating a bean
+   * property of that type.
+   *
+   * @param <T> the type of the value
+   * @param column the column name
+   * @param clazz the class of the value
+   * @return the value of the column
+   */
+  public <T> T get(String column, Class<T> clazz) {
+    return get(indexOf(column), clazz);
+  }
+
+  /**
+   * Returns the value of the specified column, converted to the specified type. The
+   * conversion is the same as the one that would take place when populating a bean
+   * property of that type.
+   *
+   * @param <T> the type of the value
+   * @param index the column index
+   * @param clazz the class of the value
+   * @return the value of the column
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(int index, Class<T> clazz) {
+    ColumnReader<?, T> reader;
+    if (readerTypes[index - 1] == clazz) {
+      reader = (ColumnReader<?, T>) readers[index - 1];
+    } else {
+      reader = ColumnReaderFactory.getInstance().getReader(clazz, types[index - 1]);
+      readers[index - 1] = reader;
+      readerTypes[index - 1] = clazz;
+    }
+    try {
+      return reader.getValue(rs, index, clazz);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+  /**
+   * Returns whether the value most recently read through this {@code RowView} was SQL
+   * NULL.
+   *
+   * @return whether the value most recently read was SQL NULL
+   * @see ResultSet#wasNull()
+   */
+  public boolean wasNull() {
+    try {
+      return rs.wasNull();
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+  }
+
+}
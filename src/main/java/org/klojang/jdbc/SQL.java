@@ -240,7 +240,7 @@ public sealed interface SQL permits AbstractSQL {
    *       <i>Klojang Templates</i> variables
    */
   static SQL simple(SessionConfig config, Class<?> clazz, String sqlFile) {
-    return SQLCache.get(clazz, sqlFile, SQL::simple);
+    return SQLCache.get(clazz, sqlFile, config, SQL::simple);
   }
 
   /**
@@ -533,6 +533,17 @@ public sealed interface SQL permits AbstractSQL {
     return new BatchInsertBuilder();
   }
 
+  /**
+   * Returns an {@code UpsertBuilder} that enables you to configure a
+   * {@link BatchUpsert} object.
+   *
+   * @return an {@code UpsertBuilder} that enables you to configure a
+   *       {@link BatchUpsert} object
+   */
+  static UpsertBuilder upsertBatch() {
+    return new UpsertBuilder();
+  }
+
   /**
    * Returns a special string wrapper object whose type signals to <i>Klojang JDBC</i>
    * that the specified string is to be treated as a native SQL expression and hence must
@@ -13,8 +13,13 @@ import org.slf4j.LoggerFactory;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.sql.Statement.NO_GENERATED_KEYS;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
 
 import static org.klojang.check.CommonChecks.*;
 import static org.klojang.check.CommonExceptions.illegalState;
@@ -22,6 +27,7 @@ import static org.klojang.check.CommonExceptions.npe;
 import static org.klojang.jdbc.x.Err.ILLEGAL_NULL_VALUE_IN_LIST;
 import static org.klojang.jdbc.x.Err.NO_KEYS_WERE_GENERATED;
 import static org.klojang.jdbc.x.Strings.*;
+import static org.klojang.util.ArrayMethods.EMPTY_LONG_ARRAY;
 import static org.klojang.util.ClassMethods.className;
 
 /**
@@ -45,6 +51,9 @@ public final class SQLInsert extends SQLStatement<SQLInsert> {
 
   private final boolean retrieveKeys;
 
+  private int chunkSize = -1;
+  private boolean commitPerChunk;
+
   SQLInsert(PreparedStatement stmt,
         AbstractSQLSession sql,
         ParameterInfo paramInfo,
@@ -53,6 +62,36 @@ public final class SQLInsert extends SQLStatement<SQLInsert> {
     this.retrieveKeys = retrieveKeys;
   }
 
+  /**
+   * Sets the maximum number of beans or records that are sent to the database in a
+   * single JDBC batch by {@link #insertBatch(List) insertBatch()},
+   * {@link #insertBatchAndGetIDs(List) insertBatchAndGetIDs()} and
+   * {@link #insertBatchAndSetIDs(String, List) insertBatchAndSetIDs()}. Only one chunk at
+   * a time is held by the JDBC driver. By default all beans are sent in a single batch.
+   *
+   * @param chunkSize the number of beans or records to save at a time
+   * @return this {@code SQLInsert} instance
+   */
+  public SQLInsert withChunkSize(int chunkSize) {
+    this.chunkSize = Check.that(chunkSize, CHUNK_SIZE).is(gt(), 0).ok();
+    return this;
+  }
+
+  /**
+   * Specifies whether to issue a database commit directly after a chunk of beans has
+   * been saved to the database. This only has an effect if auto-commit is disabled for
+   * the connection. The default behaviour is to <i>not</i> commit, so the entire batch
+   * remains part of the surrounding transaction.
+   *
+   * @param commitPerChunk whether to commit after each chunk
+   * @return this {@code SQLInsert} instance
+   * @see #withChunkSize(int)
+   */
+  public SQLInsert withCommitPerChunk(boolean commitPerChunk) {
+    this.commitPerChunk = commitPerChunk;
+    return this;
+  }
+
   /**
    * Binds the values in the specified JavaBean to the named parameters within the SQL
    * statement. Bean properties that do not correspond to named parameters will tacitly be
@@ -230,11 +269,7 @@ public final class SQLInsert extends SQLStatement<SQLInsert> {
   public <U> void insertBatch(List<U> beans) {
     Check.notNull(beans);
     try {
-      for (U bean : beans) {
-        addToBatch(bean);
-      }
-      LOG.trace(Msg.EXECUTING_SQL, paramInfo.normalizedSQL());
-      stmt().executeBatch();
+      executeBatch(beans, NO_GENERATED_KEYS, (offset, chunk, keys) -> { });
     } catch (Throwable t) {
       throw Utils.wrap(t, paramInfo);
     }
@@ -253,12 +288,16 @@ public final class SQLInsert extends SQLStatement<SQLInsert> {
     Check.notNull(beans);
     Check.that(retrieveKeys).is(yes(), illegalState(KEY_RETRIEVAL_DISABLED));
     try {
-      for (U bean : beans) {
-        addToBatch(bean);
-      }
-      LOG.trace(Msg.EXECUTING_SQL, paramInfo.normalizedSQL());
-      stmt().executeBatch();
-      return JDBC.getGeneratedKeys(stmt(), beans.size());
+      long[] allKeys = new long[beans.size()];
+      boolean[] noKeys = new boolean[1];
+      executeBatch(beans, RETURN_GENERATED_KEYS, (offset, chunk, keys) -> {
+        if (keys.length == 0) {
+          noKeys[0] = true;
+        } else {
+          System.arraycopy(keys, 0, allKeys, offset, keys.length);
+        }
+      });
+      return noKeys[0] ? EMPTY_LONG_ARRAY : allKeys;
     } catch (Throwable t) {
       throw Utils.wrap(t, paramInfo);
     }
@@ -280,21 +319,80 @@ public final class SQLInsert extends SQLStatement<SQLInsert> {
     Check.notNull(beans, BEANS);
     Check.that(retrieveKeys).is(yes(), illegalState(KEY_RETRIEVAL_DISABLED));
     try {
-      for (U bean : beans) {
-        addToBatch(bean);
+      // Set the IDs right after each chunk, so that beans in chunks that were saved
+      // (and possibly committed) before a failure have their IDs
+      executeBatch(beans, RETURN_GENERATED_KEYS, (offset, chunk, keys) -> {
+        Utils.check(keys.length).isNot(zero(), NO_KEYS_WERE_GENERATED);
+        for (int i = 0; i < keys.length; ++i) {
+          JDBC.setID(chunk.get(i), idProperty, keys[i]);
+        }
+      });
+    } catch (Throwable t) {
+      throw Utils.wrap(t, paramInfo);
+    }
+  }
+
+  /**
+   * Saves the beans or records produced by the specified {@code Iterator} to the
+   * database. The beans are read lazily, and sent to the database in chunks of the
+   * {@linkplain #withChunkSize(int) configured} chunk size (or
+   * {@value BatchInsert#DEFAULT_STREAMING_CHUNK_SIZE} if no chunk size was configured).
+   * Thus, the JDBC driver needs to hold no more than one chunk at a time. This method
+   * combines the binding and execution phase. Values bound using the various
+   * {@code bind()} methods are ignored.
+   *
+   * @param <U> the type of the beans or records
+   * @param beans an {@code Iterator} over the beans or records to save
+   * @return the number of beans saved to the database
+   * @see BatchInsert#insertAll(Iterator)
+   */
+  public <U> long insertAll(Iterator<U> beans) {
+    Check.notNull(beans, BEANS);
+    int chunkSize = this.chunkSize == -1
+          ? BatchInsert.DEFAULT_STREAMING_CHUNK_SIZE
+          : this.chunkSize;
+    LOG.trace(Msg.EXECUTING_SQL, paramInfo.normalizedSQL());
+    long count = 0;
+    try {
+      int pending = 0;
+      while (beans.hasNext()) {
+        addToBatch(beans.next());
+        if (++pending == chunkSize) {
+          stmt().executeBatch();
+          if (commitPerChunk) {
+            commitChunk();
+          }
+          count += pending;
+          pending = 0;
+        }
       }
-      LOG.trace(Msg.EXECUTING_SQL, paramInfo.normalizedSQL());
-      stmt().executeBatch();
-      long[] keys = JDBC.getGeneratedKeys(stmt(), beans.size());
-      int i = 0;
-      for (U bean : beans) {
-        JDBC.setID(bean, idProperty, keys[i++]);
+      if (pending > 0) {
+        stmt().executeBatch();
+        if (commitPerChunk) {
+          commitChunk();
+        }
+        count += pending;
       }
+      return count;
     } catch (Throwable t) {
+      clearBatch(t);
       throw Utils.wrap(t, paramInfo);
     }
   }
 
+  /**
+   * Saves the beans or records in the specified {@code Stream} to the database. See
+   * {@link #insertAll(Iterator)}.
+   *
+   * @param <U> the type of the beans or records
+   * @param beans a {@code Stream} of the beans or records to save
+   * @return the number of beans saved to the database
+   */
+  public <U> long insertAll(Stream<U> beans) {
+    Check.notNull(beans, BEANS);
+    return insertAll(beans.iterator());
+  }
+
   @Override
   void initialize() {
     idProperties.clear();
@@ -311,6 +409,40 @@ public final class SQLInsert extends SQLStatement<SQLInsert> {
     stmt().executeUpdate();
   }
 
+  // Processes the keys generated for a single chunk
+  @FunctionalInterface
+  private interface KeyHandler<U> {
+    void handle(int offset, List<U> chunk, long[] keys) throws Throwable;
+  }
+
+  // Saves the beans in chunks of at most chunkSize beans. If keyMode is
+  // RETURN_GENERATED_KEYS, the keys generated for each chunk are passed to the
+  // KeyHandler before the chunk is committed.
+  private <U> void executeBatch(List<U> beans, int keyMode, KeyHandler<U> handler)
+        throws Throwable {
+    LOG.trace(Msg.EXECUTING_SQL, paramInfo.normalizedSQL());
+    int chunkSize = this.chunkSize == -1 ? beans.size() : this.chunkSize;
+    try {
+      for (int i = 0; i < beans.size(); i += chunkSize) {
+        int j = Math.min(beans.size(), i + chunkSize);
+        List<U> chunk = beans.subList(i, j);
+        for (U bean : chunk) {
+          addToBatch(bean);
+        }
+        stmt().executeBatch();
+        if (keyMode == RETURN_GENERATED_KEYS) {
+          handler.handle(i, chunk, JDBC.getGeneratedKeys(stmt(), chunk.size()));
+        }
+        if (commitPerChunk) {
+          commitChunk();
+        }
+      }
+    } catch (Throwable t) {
+      clearBatch(t);
+      throw t;
+    }
+  }
+
   @SuppressWarnings({"rawtypes", "unchecked"})
   private <U> void addToBatch(U bean) throws Throwable {
     Check.that(bean).is(notNull(), npe(ILLEGAL_NULL_VALUE_IN_LIST));
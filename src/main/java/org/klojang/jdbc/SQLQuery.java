@@ -1,5 +1,6 @@
 package org.klojang.jdbc;
 
+import org.klojang.check.Check;
 import org.klojang.check.aux.Result;
 import org.klojang.check.fallible.FallibleFunction;
 import org.klojang.jdbc.x.Msg;
@@ -16,9 +17,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.lang.ref.Cleaner.Cleanable;
+import static org.klojang.check.CommonChecks.gt;
+import static org.klojang.check.CommonChecks.gte;
+import static org.klojang.jdbc.x.Strings.ACTION;
+import static org.klojang.jdbc.x.Strings.FETCH_SIZE;
+import static org.klojang.jdbc.x.Strings.SIZE_ESTIMATE;
 import static org.klojang.jdbc.x.Utils.CENTRAL_CLEANER;
 
 /**
@@ -56,6 +64,12 @@ import static org.klojang.jdbc.x.Utils.CENTRAL_CLEANER;
  *       .firstColumn();
  * }
  * }</pre></blockquote>
+ *
+ * <p>The {@code ResultSet} produced by a {@code SQLQuery} is forward-only and
+ * read-only ({@link ResultSet#TYPE_FORWARD_ONLY} and {@link ResultSet#CONCUR_READ_ONLY}).
+ * This allows JDBC drivers to stream rows from the database server rather than load the
+ * entire {@code ResultSet} into memory. Whether and how they do so can usually be
+ * controlled through the {@linkplain #withFetchSize(int) fetch size}.
  */
 @SuppressWarnings("resource")
 public final class SQLQuery extends SQLStatement<SQLQuery> {
@@ -71,6 +85,45 @@ public final class SQLQuery extends SQLStatement<SQLQuery> {
     this.cleanable = CENTRAL_CLEANER.register(this, result);
   }
 
+  /**
+   * Gives the JDBC driver a hint as to the number of rows that should be fetched from the
+   * database when more rows are needed. Zero means the hint is ignored. Must be called
+   * before the query is executed. For some drivers (e.g. PostgreSQL and MySQL) a
+   * non-zero fetch size is required to prevent them from loading the entire
+   * {@code ResultSet} into memory. See the documentation of your driver.
+   *
+   * @param fetchSize the number of rows to fetch at a time
+   * @return this {@code SQLQuery} instance
+   * @see java.sql.Statement#setFetchSize(int)
+   */
+  public SQLQuery withFetchSize(int fetchSize) {
+    Check.that(fetchSize, FETCH_SIZE).is(gte(), 0);
+    try {
+      stmt().setFetchSize(fetchSize);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+    return this;
+  }
+
+  /**
+   * Gives the JDBC driver a hint as to the direction in which the rows in the
+   * {@code ResultSet} will be processed. Must be called before the query is executed.
+   *
+   * @param direction one of {@link ResultSet#FETCH_FORWARD},
+   *       {@link ResultSet#FETCH_REVERSE} or {@link ResultSet#FETCH_UNKNOWN}
+   * @return this {@code SQLQuery} instance
+   * @see java.sql.Statement#setFetchDirection(int)
+   */
+  public SQLQuery withFetchDirection(int direction) {
+    try {
+      stmt().setFetchDirection(direction);
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+    return this;
+  }
+
   /**
    * Executes the query and returns the value of the first column of the first row. The
    * second time you call this method, you get the value of the first column of the second
@@ -309,6 +362,95 @@ public final class SQLQuery extends SQLStatement<SQLQuery> {
     }
   }
 
+  /**
+   * Executes the query and returns a lazily populated {@code Stream} of JavaBeans or
+   * records. Rows are read from the {@code ResultSet} only as the stream is consumed. If
+   * the query had already been executed, it will not be executed again. Closing the
+   * returned {@code Stream} closes this {@code SQLQuery}, so the following is a safe way
+   * to process a very large number of rows:
+   *
+   * <blockquote><pre>{@code
+   * try(Stream<Person> persons = sql.session(con)
+   *       .prepareQuery()
+   *       .withFetchSize(1000)
+   *       .stream(Person.class)) {
+   *   persons.forEach(person -> export(person));
+   * }
+   * }</pre></blockquote>
+   *
+   * @param <T> the type of the JavaBeans or records
+   * @param clazz the class of the JavaBeans or records
+   * @return a {@code Stream} of JavaBeans or records
+   * @see BeanExtractor#stream()
+   */
+  public <T> Stream<T> stream(Class<T> clazz) {
+    return getExtractor(clazz).stream().onClose(this::close);
+  }
+
+  /**
+   * Executes the query and copies the remaining rows in the {@code ResultSet} into a
+   * column-oriented {@link ColumnarResult}. Equivalent to
+   * {@link #getColumnarResult(int) getColumnarResult(64)}.
+   *
+   * @return a {@code ColumnarResult} containing the remaining rows in the
+   *       {@code ResultSet}
+   */
+  public ColumnarResult getColumnarResult() { return getColumnarResult(64); }
+
+  /**
+   * Executes the query and copies the remaining rows in the {@code ResultSet} into a
+   * column-oriented {@link ColumnarResult}. If the query had already been executed, it
+   * will not be executed again. Call {@link SQLStatement#reset() reset()} to force the
+   * query to be re-executed.
+   *
+   * @param sizeEstimate an estimate of the number of rows in the {@code ResultSet}
+   * @return a {@code ColumnarResult} containing the remaining rows in the
+   *       {@code ResultSet}
+   */
+  public ColumnarResult getColumnarResult(int sizeEstimate) {
+    Check.that(sizeEstimate, SIZE_ESTIMATE).is(gt(), 0);
+    try {
+      ResultSet rs = executeIfNull();
+      return ColumnarResult.create(rs, session.getSQL().config(), sizeEstimate);
+    } catch (Throwable t) {
+      throw Utils.wrap(t);
+    }
+  }
+
+  /**
+   * Executes the query and returns a {@link RowView} positioned before the first row of
+   * the {@code ResultSet}. Call {@link RowView#next() RowView.next()} to move it to the
+   * next row. If the query had already been executed, it will not be executed again.
+   * Call {@link SQLStatement#reset() reset()} to force the query to be re-executed.
+   *
+   * @return a {@code RowView} on the rows in the {@code ResultSet}
+   */
+  public RowView getRowView() {
+    try {
+      ResultSet rs = executeIfNull();
+      return RowView.create(rs, session.getSQL().config());
+    } catch (Throwable t) {
+      throw Utils.wrap(t);
+    }
+  }
+
+  /**
+   * Executes the query and passes each of the remaining rows in the {@code ResultSet} to
+   * the specified action, in the form of a {@link RowView}. The same {@code RowView}
+   * instance is passed to the action for each row, so the action should not hold on to
+   * it. If the query had already been executed, it will not be executed again. Call
+   * {@link SQLStatement#reset() reset()} to force the query to be re-executed.
+   *
+   * @param action the action to be performed for each row
+   */
+  public void forEachRow(Consumer<RowView> action) {
+    Check.notNull(action, ACTION);
+    RowView row = getRowView();
+    while (row.next()) {
+      action.accept(row);
+    }
+  }
+
   /**
    * Executes the query and converts the first row in the {@code ResultSet} into an object
    * of type {@code <T>} using the specified conversion function. If the query yielded an
@@ -1,7 +1,10 @@
 package org.klojang.jdbc;
 
 import org.klojang.check.Check;
+import org.klojang.jdbc.x.BoundedCache;
 import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.sql.ParamExtractor;
+import org.klojang.jdbc.x.sql.ParameterInfo;
 import org.klojang.templates.ParseException;
 import org.klojang.templates.Template;
 
@@ -11,7 +14,12 @@ import static org.klojang.jdbc.x.Strings.CONNECTION;
 
 final class SQLSkeleton extends AbstractSQL {
 
+  // The maximum number of distinct renditions of the skeleton for which to cache the
+  // ParameterInfo object
+  private static final int PARAM_INFO_CACHE_SIZE = 64;
+
   private final Template template;
+  private final BoundedCache<String, ParameterInfo> paramInfoCache;
 
   SQLSkeleton(String sql, SessionConfig config) {
     super(sql, config);
@@ -20,6 +28,7 @@ final class SQLSkeleton extends AbstractSQL {
     } catch (ParseException e) {
       throw Utils.wrap(e);
     }
+    paramInfoCache = new BoundedCache<>("SQLSkeleton", PARAM_INFO_CACHE_SIZE);
   }
 
   @Override
@@ -28,4 +37,11 @@ final class SQLSkeleton extends AbstractSQL {
     return new SQLSkeletonSession(con, this, template.newRenderSession());
   }
 
+  // Since the named parameters can only be extracted once the skeleton has been
+  // rendered, we cache the result of the extraction process, keyed on the rendered SQL.
+  ParameterInfo getParameterInfo(String renderedSQL) {
+    return paramInfoCache.get(renderedSQL,
+          sql -> new ParameterInfo(new ParamExtractor(sql)));
+  }
+
 }
@@ -2,7 +2,6 @@ package org.klojang.jdbc;
 
 import org.klojang.check.Check;
 import org.klojang.jdbc.x.JDBC;
-import org.klojang.jdbc.x.sql.ParamExtractor;
 import org.klojang.jdbc.x.sql.ParameterInfo;
 import org.klojang.templates.RenderSession;
 import org.klojang.util.ArrayMethods;
@@ -17,8 +16,11 @@ import static org.klojang.jdbc.x.Strings.VAR_NAME;
 
 final class SQLSkeletonSession extends DynamicSQLSession {
 
-  SQLSkeletonSession(Connection con, AbstractSQL sql, RenderSession session) {
+  private final SQLSkeleton skeleton;
+
+  SQLSkeletonSession(Connection con, SQLSkeleton sql, RenderSession session) {
     super(con, sql, session);
+    this.skeleton = sql;
   }
 
   public SQLSession setNested(String path, Object value) {
@@ -92,7 +94,7 @@ final class SQLSkeletonSession extends DynamicSQLSession {
   }
 
   private ParameterInfo getParamInfo() {
-    return new ParameterInfo(new ParamExtractor(session.render()));
+    return skeleton.getParameterInfo(session.render());
   }
 
 }
@@ -7,10 +7,10 @@ import org.klojang.jdbc.x.ps.MapBinder;
 import org.klojang.jdbc.x.sql.NamedParameter;
 import org.klojang.jdbc.x.sql.ParameterInfo;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.function.Supplier;
 
 import static java.lang.ref.Cleaner.Cleanable;
 import static java.util.Collections.singletonMap;
@@ -18,7 +18,6 @@ import static org.klojang.check.CommonChecks.*;
 import static org.klojang.check.Tag.*;
 import static org.klojang.jdbc.x.Strings.RECORD;
 import static org.klojang.jdbc.x.Utils.CENTRAL_CLEANER;
-import static org.klojang.util.CollectionMethods.collectionToSet;
 
 /**
  * Abstract base class for {@link SQLQuery}, {@link SQLInsert} and {@link SQLUpdate}. A
@@ -40,7 +39,9 @@ public abstract sealed class SQLStatement<T extends SQLStatement<T>>
   final ParameterInfo paramInfo;
 
   final List<Object> bindings;
-  final Set<NamedParameter> bound;
+
+  // The indexes (within paramInfo.parameters()) of the parameters bound so far
+  final BitSet bound;
 
   private final StatementContainer stmt;
   private final Cleanable cleanable;
@@ -53,8 +54,8 @@ public abstract sealed class SQLStatement<T extends SQLStatement<T>>
     this.session = session;
     this.paramInfo = paramInfo;
     this.bindings = new ArrayList<>(5);
-    this.bound = HashSet.newHashSet(paramInfo.parameters().size());
-    this.stmt = new StatementContainer(stmt);
+    this.bound = new BitSet(paramInfo.parameters().size());
+    this.stmt = new StatementContainer(stmt, session);
     this.cleanable = CENTRAL_CLEANER.register(this, this.stmt);
   }
 
@@ -133,21 +134,51 @@ public abstract sealed class SQLStatement<T extends SQLStatement<T>>
 
   abstract void initialize();
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
   void applyBindings(PreparedStatement ps) throws Throwable {
     fresh = false;
     for (Object obj : bindings) {
-      AbstractSQL sql = session.getSQL();
-      if (obj instanceof Map map) {
-        MapBinder binder = sql.getMapBinder(paramInfo);
-        binder.bind(ps, map, bound);
-      } else {
-        BeanBinder binder = sql.getBeanBinder(paramInfo, obj.getClass());
-        binder.bind(ps, obj);
-        bound.addAll(binder.getBoundParameters());
-      }
+      bind(ps, obj);
+    }
+    checkAllBound();
+  }
+
+  // Binds a single bean, record or map to the PreparedStatement
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  void bind(PreparedStatement ps, Object obj) throws Throwable {
+    AbstractSQL sql = session.getSQL();
+    if (obj instanceof Map map) {
+      MapBinder binder = sql.getMapBinder(paramInfo);
+      binder.bind(ps, map, bound);
+    } else {
+      BeanBinder binder = sql.getBeanBinder(paramInfo, obj.getClass());
+      binder.bind(ps, obj);
+      binder.markBound(bound);
+    }
+  }
+
+  void checkAllBound() {
+    if (bound.cardinality() != paramInfo.parameters().size()) {
+      throw unboundParameters();
+    }
+  }
+
+  // Discards the statements added to the JDBC batch so far. Called when batch execution
+  // fails, so the next batch execution won't send them along with its own statements.
+  void clearBatch(Throwable cause) {
+    try {
+      stmt().clearBatch();
+    } catch (SQLException e) {
+      cause.addSuppressed(e);
+    }
+  }
+
+  // Commits the transaction after a chunk of a batch has been executed, unless the
+  // connection is in auto-commit mode
+  void commitChunk() throws SQLException {
+    Connection con = session.getConnection();
+    if (!con.getAutoCommit()) {
+      con.commit();
     }
-    Check.that(bound.size()).is(eq(), paramInfo.parameters().size(), unboundParameters());
   }
 
   AbstractSQLSession getSession() {
@@ -163,27 +194,33 @@ public abstract sealed class SQLStatement<T extends SQLStatement<T>>
     cleanable.clean();
   }
 
-  private Supplier<DatabaseException> unboundParameters() {
-    Set<String> all = HashSet.newHashSet(paramInfo.parameters().size());
-    all.addAll(paramInfo.parameterPositions().keySet());
-    all.removeAll(collectionToSet(bound, NamedParameter::name));
+  private DatabaseException unboundParameters() {
+    List<NamedParameter> params = paramInfo.parameters();
+    List<String> unbound = new ArrayList<>();
+    for (int i = bound.nextClearBit(0); i < params.size(); i = bound.nextClearBit(i + 1)) {
+      unbound.add(params.get(i).name());
+    }
     String fmt = "SQL contains named parameters that have not been bound yet: %s";
-    String msg = String.format(fmt, all);
-    return () -> Utils.exception(msg, session.getSQL().unparsed());
+    String msg = String.format(fmt, unbound);
+    return Utils.exception(msg, session.getSQL().unparsed());
   }
 
   private static class StatementContainer implements Runnable {
 
     private final PreparedStatement stmt;
+    private final AbstractSQLSession session;
 
-    StatementContainer(PreparedStatement stmt) { this.stmt = stmt; }
+    StatementContainer(PreparedStatement stmt, AbstractSQLSession session) {
+      this.stmt = stmt;
+      this.session = session;
+    }
 
     PreparedStatement get() { return stmt; }
 
     @Override
     public void run() {
       try {
-        stmt.close();
+        session.release(stmt);
       } catch (SQLException e) {
         // ...
       }
@@ -1,8 +1,10 @@
 package org.klojang.jdbc;
 
 import org.klojang.check.Check;
+import org.klojang.jdbc.x.BoundedCache;
 import org.klojang.jdbc.x.Utils;
 import org.klojang.jdbc.x.sql.ParamExtractor;
+import org.klojang.jdbc.x.sql.ParameterInfo;
 import org.klojang.templates.ParseException;
 import org.klojang.templates.Template;
 
@@ -12,8 +14,13 @@ import static org.klojang.jdbc.x.Strings.CONNECTION;
 
 final class SQLTemplate extends AbstractSQL {
 
+  // The maximum number of distinct renditions of the template for which to cache
+  // the ParameterInfo object
+  private static final int PARAM_INFO_CACHE_SIZE = 64;
+
   private final Template template;
   private final ParamExtractor extractor;
+  private final BoundedCache<String, ParameterInfo> paramInfoCache;
 
   SQLTemplate(String sql, SessionConfig config) {
     super(sql, config);
@@ -23,12 +30,20 @@ final class SQLTemplate extends AbstractSQL {
     } catch (ParseException e) {
       throw Utils.wrap(e);
     }
+    paramInfoCache = new BoundedCache<>("SQLTemplate", PARAM_INFO_CACHE_SIZE);
   }
 
   @Override
   public SQLSession session(Connection con) {
     Check.notNull(con, CONNECTION);
-    return new SQLTemplateSession(con, this, extractor, template.newRenderSession());
+    return new SQLTemplateSession(con, this, template.newRenderSession());
+  }
+
+  // The named parameters are extracted from the template as a whole, so they are the
+  // same for all renditions. Caching the ParameterInfo objects ensures that recurring
+  // renditions are represented by one and the same ParameterInfo object.
+  ParameterInfo getParameterInfo(String renderedSQL) {
+    return paramInfoCache.get(renderedSQL, sql -> new ParameterInfo(sql, extractor));
   }
 
 }
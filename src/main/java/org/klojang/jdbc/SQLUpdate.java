@@ -1,5 +1,7 @@
 package org.klojang.jdbc;
 
+import org.klojang.check.Check;
+import org.klojang.jdbc.x.JDBC;
 import org.klojang.jdbc.x.Msg;
 import org.klojang.jdbc.x.Utils;
 import org.klojang.jdbc.x.sql.ParameterInfo;
@@ -8,6 +10,15 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
+
+import static org.klojang.check.CommonChecks.gt;
+import static org.klojang.check.CommonChecks.notNull;
+import static org.klojang.check.CommonExceptions.npe;
+import static org.klojang.jdbc.x.Err.ILLEGAL_NULL_VALUE_IN_LIST;
+import static org.klojang.jdbc.x.Strings.BEANS;
+import static org.klojang.jdbc.x.Strings.CHUNK_SIZE;
+import static org.klojang.util.ArrayMethods.EMPTY_LONG_ARRAY;
 
 /**
  * Facilitates the execution of UPDATE, DELETE, and DDL statements.
@@ -17,10 +28,40 @@ public final class SQLUpdate extends SQLStatement<SQLUpdate> {
 
   private static final Logger LOG = LoggerFactory.getLogger(SQLUpdate.class);
 
+  private int chunkSize = -1;
+  private boolean commitPerChunk;
+
   SQLUpdate(PreparedStatement stmt, AbstractSQLSession sql, ParameterInfo paramInfo) {
     super(stmt, sql, paramInfo);
   }
 
+  /**
+   * Sets the maximum number of beans, records or maps that are sent to the database in
+   * a single JDBC batch by {@link #executeBatch(List) executeBatch()}. By default all of
+   * them are sent in a single batch.
+   *
+   * @param chunkSize the number of beans, records or maps to send at a time
+   * @return this {@code SQLUpdate} instance
+   */
+  public SQLUpdate withChunkSize(int chunkSize) {
+    this.chunkSize = Check.that(chunkSize, CHUNK_SIZE).is(gt(), 0).ok();
+    return this;
+  }
+
+  /**
+   * Specifies whether {@link #executeBatch(List) executeBatch()} should issue a
+   * database commit directly after a chunk has been executed. This only has an effect if
+   * auto-commit is disabled for the connection. The default behaviour is to <i>not</i>
+   * commit, so the entire batch remains part of the surrounding transaction.
+   *
+   * @param commitPerChunk whether to commit after each chunk
+   * @return this {@code SQLUpdate} instance
+   */
+  public SQLUpdate withCommitPerChunk(boolean commitPerChunk) {
+    this.commitPerChunk = commitPerChunk;
+    return this;
+  }
+
   /**
    * Executes the UPDATE or DELETE statement and returns the number of affected rows.
    *
@@ -36,6 +77,77 @@ public final class SQLUpdate extends SQLStatement<SQLUpdate> {
     }
   }
 
+  /**
+   * Executes the UPDATE or DELETE statement once for each of the provided beans, records
+   * or maps, using JDBC batch execution. If a {@linkplain #withChunkSize(int) chunk size}
+   * was specified, the list is sent to the database in chunks of that size. This method
+   * combines the binding and execution phase. Values bound using the various
+   * {@code bind()} methods are ignored. The returned array contains the number of
+   * affected rows for each element in the list. If the JDBC driver supports it, the
+   * counts are retrieved using {@link java.sql.Statement#executeLargeBatch()
+   * executeLargeBatch()}. Note that a driver may return
+   * {@link java.sql.Statement#SUCCESS_NO_INFO SUCCESS_NO_INFO} rather than the actual
+   * number of affected rows.
+   *
+   * @param beans the beans, records or maps whose values to bind to the named
+   *       parameters within the SQL statement
+   * @return the number of affected rows for each element in the list
+   */
+  public long[] executeBatch(List<?> beans) {
+    Check.notNull(beans, BEANS);
+    if (beans.isEmpty()) {
+      return EMPTY_LONG_ARRAY;
+    }
+    int chunkSize = this.chunkSize == -1 ? beans.size() : this.chunkSize;
+    long[] counts = new long[beans.size()];
+    PreparedStatement ps = stmt();
+    LOG.trace(Msg.EXECUTING_SQL, paramInfo.normalizedSQL());
+    try {
+      for (int i = 0; i < beans.size(); i += chunkSize) {
+        int j = Math.min(beans.size(), i + chunkSize);
+        for (Object bean : beans.subList(i, j)) {
+          Check.that(bean).is(notNull(), npe(ILLEGAL_NULL_VALUE_IN_LIST));
+          bound.clear();
+          bind(ps, bean);
+          checkAllBound();
+          ps.addBatch();
+        }
+        long[] chunk = JDBC.executeBatch(ps);
+        System.arraycopy(chunk, 0, counts, i, chunk.length);
+        if (commitPerChunk) {
+          commitChunk();
+        }
+      }
+      return counts;
+    } catch (Throwable t) {
+      clearBatch(t);
+      throw Utils.wrap(t, paramInfo);
+    } finally {
+      bound.clear();
+    }
+  }
+
+  /**
+   * Executes the UPDATE or DELETE statement once for each of the provided beans, records
+   * or maps, and returns the total number of affected rows. See
+   * {@link #executeBatch(List) executeBatch()}. Elements for which the JDBC driver
+   * returned {@link java.sql.Statement#SUCCESS_NO_INFO SUCCESS_NO_INFO} do not count
+   * towards the total.
+   *
+   * @param beans the beans, records or maps whose values to bind to the named
+   *       parameters within the SQL statement
+   * @return the total number of affected rows
+   */
+  public long executeBatchAndCount(List<?> beans) {
+    long total = 0;
+    for (long count : executeBatch(beans)) {
+      if (count > 0) {
+        total += count;
+      }
+    }
+    return total;
+  }
+
   @Override
   void initialize() {
     try {
@@ -311,6 +311,107 @@ public interface SessionConfig {
     return snakeCaseToCamelCase();
   }
 
+  /**
+   * Whether to compile the conversion of {@link ResultSet} rows into JavaBeans into a
+   * single chain of method handles. The default implementation returns {@code false}.
+   * If {@code true}, a {@link BeanExtractor} will, for columns that do not require any
+   * type conversion, directly pass the return value of the appropriate
+   * {@code ResultSet.getXXX()} method (e.g. {@link ResultSet#getInt(int) getInt()}) to
+   * the setter of the bean property, without boxing primitive values along the way. This
+   * may noticeably speed up the extraction of large numbers of JavaBeans. Columns that
+   * do require type conversion, or for which a
+   * {@link #getCustomReader(Class, String, Class, int) CustomReader} was specified, are
+   * processed as usual, unless the {@code CustomReader} is one of its primitive
+   * specializations (e.g. {@link CustomReader.OfInt}) and the property has the
+   * corresponding primitive type. The setters must be accessible to <i>Klojang JDBC</i>
+   * through
+   * {@link java.lang.invoke.MethodHandles.Lookup#unreflect(java.lang.reflect.Method)
+   * MethodHandles.Lookup.unreflect()}. If they are not, or if trace logging is enabled,
+   * <i>Klojang JDBC</i> silently falls back to the regular conversion mechanism.
+   *
+   * <p>Note that the regular conversion mechanism always boxes primitive values, even
+   * if they were read using a primitive specialization of {@code CustomReader}. The
+   * same is true for JavaBeans and records that are converted on multiple threads (see
+   * {@link #getExtractionParallelism()}), irrespective of the value returned by this
+   * method, as the column values are then handed over to the converting threads as
+   * objects.
+   *
+   * <p>The same applies in the opposite direction, when binding JavaBeans and records to
+   * the parameters of a {@link java.sql.PreparedStatement}. For properties that do not
+   * require any type conversion, the return value of the getter is passed directly to
+   * the appropriate {@code PreparedStatement.setXXX()} method (e.g.
+   * {@link java.sql.PreparedStatement#setInt(int, int) setInt()}).
+   *
+   * @return whether to compile the conversion of {@code ResultSet} rows into JavaBeans
+   */
+  default boolean compileBeanAccessors() {
+    return false;
+  }
+
+  /**
+   * Returns the number of threads that may simultaneously convert {@link ResultSet} rows
+   * into JavaBeans or records when calling
+   * {@link BeanExtractor#extractAll(int) BeanExtractor.extractAll()}. The default
+   * implementation returns 1, meaning that the rows are read and converted one at a
+   * time by the calling thread. If greater than 1, the calling thread only reads the raw
+   * column values, and hands them out in batches to (virtual) worker threads that
+   * convert them into beans or records. The order of the beans in the returned
+   * {@code List} is not affected. This only pays off if the conversion of the rows is
+   * relatively expensive compared to reading them &#8212; for example if many columns
+   * need to be converted to a different type. It does not help for columns read by a
+   * {@link #getCustomReader(Class, String, Class, int) CustomReader}. Custom readers
+   * read directly from the {@code ResultSet}, so they are always invoked by the calling
+   * thread. Bean suppliers, on the other hand, will be invoked by the worker threads, so
+   * they must be thread-safe.
+   *
+   * @return the number of threads that may simultaneously convert rows into JavaBeans
+   *       or records
+   */
+  default int getExtractionParallelism() {
+    return 1;
+  }
+
+  /**
+   * Returns the maximum number of {@link java.sql.PreparedStatement PreparedStatement}
+   * objects that a {@link SQLSession} will keep around for reuse by subsequent
+   * executions of the same {@linkplain SQL#simple(String) simple SQL}. The default
+   * implementation returns 0, meaning that statement caching is disabled, and a new
+   * {@code PreparedStatement} is created every time you call
+   * {@link SQLSession#prepareQuery() prepareQuery()},
+   * {@link SQLSession#prepareInsert() prepareInsert()} or
+   * {@link SQLSession#prepareUpdate() prepareUpdate()}. If statement caching is
+   * enabled, closing a {@link SQLStatement} will not close the underlying
+   * {@code PreparedStatement}, but return it to the session's cache instead. Statements
+   * that are evicted from the cache are closed. The cache is scoped to the session, and
+   * therefore to the connection held by the session. To benefit from it, obtain the
+   * session once, after having obtained (or borrowed) the connection, and keep using
+   * it until you are done with the connection:
+   *
+   * <blockquote><pre>{@code
+   * try (Connection con = dataSource.getConnection()) {
+   *   SQLSession session = sql.session(con);
+   *   for (Person person : persons) {
+   *     try (SQLInsert insert = session.prepareInsert()) {
+   *       insert.bind(person).execute();
+   *     }
+   *   }
+   * }
+   * }</pre></blockquote>
+   *
+   * <p>Once the connection has been closed, the cached statements are discarded
+   * (closing a connection also closes its statements). Note that some JDBC drivers and
+   * connection pools already provide their own statement cache, which is not limited
+   * to the lifetime of a single session. Statements created by
+   * {@linkplain SQL#template(String) SQL templates} and
+   * {@linkplain SQL#skeleton(String) SQL skeletons} are never cached.
+   *
+   * @return the maximum number of idle {@code PreparedStatement} objects cached per
+   *       session
+   */
+  default int getStatementCacheSize() {
+    return 0;
+  }
+
   /**
    * Returns a new instance that is equal to this instance except with the
    * property-to-column mapper set to the specified {@code NameMapper}.
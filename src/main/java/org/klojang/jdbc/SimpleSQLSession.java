@@ -1,34 +1,46 @@
 package org.klojang.jdbc;
 
 import org.klojang.jdbc.x.JDBC;
+import org.klojang.jdbc.x.StatementCache;
 import org.klojang.jdbc.x.sql.ParameterInfo;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static java.sql.Statement.NO_GENERATED_KEYS;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+import static org.klojang.jdbc.x.StatementCache.UNSPECIFIED;
 
 final class SimpleSQLSession extends AbstractSQLSession {
 
   private final ParameterInfo paramInfo;
+  // Null if statement caching is disabled
+  private final StatementCache cache;
 
   SimpleSQLSession(Connection con, AbstractSQL sql, ParameterInfo paramInfo) {
     super(con, sql);
     this.paramInfo = paramInfo;
+    int cacheSize = sql.config().getStatementCacheSize();
+    this.cache = cacheSize > 0 ? new StatementCache(con, cacheSize) : null;
   }
 
   @Override
   public SQLQuery prepareQuery() {
-    var stmt = JDBC.getPreparedStatement(con, paramInfo);
+    var stmt = getPreparedStatement(UNSPECIFIED);
     return new SQLQuery(stmt, this, paramInfo);
   }
 
   @Override
   public SQLInsert prepareInsert(boolean retrieveKeys) {
-    var stmt = JDBC.getPreparedStatement(con, paramInfo, retrieveKeys);
+    int keyMode = retrieveKeys ? RETURN_GENERATED_KEYS : NO_GENERATED_KEYS;
+    var stmt = getPreparedStatement(keyMode);
     return new SQLInsert(stmt, this, paramInfo, retrieveKeys);
   }
 
   @Override
   public SQLUpdate prepareUpdate() {
-    var stmt = JDBC.getPreparedStatement(con, paramInfo);
+    var stmt = getPreparedStatement(UNSPECIFIED);
     return new SQLUpdate(stmt, this, paramInfo);
   }
 
@@ -37,4 +49,22 @@ final class SimpleSQLSession extends AbstractSQLSession {
     return execute(paramInfo.normalizedSQL());
   }
 
+  @Override
+  void release(PreparedStatement stmt) throws SQLException {
+    if (cache != null) {
+      cache.checkin(stmt);
+    } else {
+      stmt.close();
+    }
+  }
+
+  private PreparedStatement getPreparedStatement(int keyMode) {
+    if (cache != null) {
+      return cache.checkout(paramInfo, keyMode);
+    } else if (keyMode == UNSPECIFIED) {
+      return JDBC.getPreparedStatement(con, paramInfo);
+    }
+    return JDBC.getPreparedStatement(con, paramInfo, keyMode == RETURN_GENERATED_KEYS);
+  }
+
 }
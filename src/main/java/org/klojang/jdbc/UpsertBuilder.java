@@ -0,0 +1,112 @@
+package org.klojang.jdbc;
+
+import org.klojang.check.Check;
+import org.klojang.invoke.BeanReader;
+import org.klojang.jdbc.x.Utils;
+import org.klojang.jdbc.x.sql.BatchInsertConfig;
+import org.klojang.jdbc.x.sql.UpsertDialect;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Set;
+
+import static org.klojang.check.CommonChecks.empty;
+import static org.klojang.check.CommonChecks.in;
+import static org.klojang.check.CommonChecks.notNull;
+import static org.klojang.check.CommonExceptions.STATE;
+import static org.klojang.jdbc.InsertBuilder.NO_SUCH_PROPERTY;
+import static org.klojang.jdbc.x.Err.NO_KEY_PROPERTIES;
+import static org.klojang.jdbc.x.Err.UPSERT_NOT_SUPPORTED;
+import static org.klojang.jdbc.x.Strings.KEY_PROPERTY;
+import static org.klojang.util.ArrayMethods.EMPTY_STRING_ARRAY;
+
+/**
+ * <p>A builder class for {@link BatchUpsert} instances. {@code UpsertBuilder} instances
+ * are obtained via {@link SQL#upsertBatch()}. The configuration options are the same as
+ * for a {@link BatchInsertBuilder}, except that you must also specify the properties
+ * corresponding to the key columns via {@link #withKey(String...) withKey()}. Note that
+ * PostgreSQL does not allow a single statement to update the same row twice. Thus, for
+ * PostgreSQL, a chunk must not contain two beans with the same key.
+ *
+ * <p>Two options of the {@code BatchInsertBuilder} are deliberately not available for
+ * upserts. There is no {@link BatchInsertBuilder#withBulkLoader(BulkLoader)
+ * withBulkLoader()}, because bulk-load mechanisms can only insert rows. And there is no
+ * {@link BatchInsertBuilder#prepare(javax.sql.DataSource, int) prepare(DataSource,
+ * parallelism)}, because concurrent upserts into the same table easily run into lock
+ * contention or deadlocks, and the outcome for beans with the same key in different
+ * chunks would depend on the order in which the chunks happen to be saved.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class UpsertBuilder extends AbstractBatchBuilder<UpsertBuilder> {
+
+  private String[] keys = EMPTY_STRING_ARRAY;
+
+  UpsertBuilder() { }
+
+  /**
+   * Sets the properties corresponding to the columns that identify a row. If a row with
+   * the same values for these columns already exists, it is updated. Otherwise a new
+   * row is inserted. For H2 the key columns are passed to the {@code KEY} clause of the
+   * {@code MERGE} statement. For PostgreSQL they are passed to the {@code ON CONFLICT}
+   * clause, so they must correspond to a primary key or unique constraint. MySQL decides
+   * for itself which unique keys to check, but the key columns are left out of the
+   * {@code ON DUPLICATE KEY UPDATE} clause. The properties must be among the properties
+   * saved by the {@code BatchUpsert}.
+   *
+   * @param properties the properties corresponding to the key columns
+   * @return this {@code UpsertBuilder}
+   */
+  public UpsertBuilder withKey(String... properties) {
+    Check.notNull(properties);
+    for (String property : properties) {
+      Check.notNull(property, KEY_PROPERTY);
+    }
+    this.keys = properties.clone();
+    return this;
+  }
+
+  /**
+   * Creates and returns a {@code BatchUpsert} instance using the input provided via the
+   * other methods. A {@link DatabaseException} is thrown if the database behind the
+   * connection is not supported. Currently supported are H2, PostgreSQL, MySQL and
+   * MariaDB. With MySQL 8.0.19 and later, the {@code ON DUPLICATE KEY UPDATE} clause
+   * refers to the new values through a row alias. With older versions of MySQL, and
+   * with MariaDB, it uses the {@code VALUES()} function, which MySQL deprecated in
+   * version 8.0.20.
+   *
+   * @param con the JDBC {@code Connection} to use for the upsert statements
+   * @param <T> the type of the beans or records to be persisted by the
+   *       {@code BatchUpsert} instance
+   * @return a {@code BatchUpsert} instance
+   */
+  public <T> BatchUpsert<T> prepare(Connection con) {
+    Check.notNull(con);
+    BeanReader reader = reader();
+    Check.on(STATE, keys).isNot(empty(), NO_KEY_PROPERTIES);
+    Set<String> props = reader.getReadableProperties();
+    String type = beanClass().getSimpleName();
+    for (String key : keys) {
+      Check.on(STATE, key).is(in(), props, NO_SUCH_PROPERTY, type);
+    }
+    UpsertDialect dialect = getDialect(con);
+    BatchInsertConfig cfg = config(con, null, 1, reader, null, dialect, keys);
+    return new BatchUpsert<>(cfg);
+  }
+
+  private static UpsertDialect getDialect(Connection con) {
+    String db;
+    String version;
+    try {
+      DatabaseMetaData metaData = con.getMetaData();
+      db = metaData.getDatabaseProductName();
+      version = metaData.getDatabaseProductVersion();
+    } catch (SQLException e) {
+      throw Utils.wrap(e);
+    }
+    UpsertDialect dialect = UpsertDialect.forDatabase(db, version);
+    Utils.check(dialect).is(notNull(), UPSERT_NOT_SUPPORTED, db);
+    return dialect;
+  }
+
+}
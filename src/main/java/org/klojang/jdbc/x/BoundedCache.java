@@ -0,0 +1,213 @@
+package org.klojang.jdbc.x;
+
+import org.klojang.check.Check;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static org.klojang.check.CommonChecks.gt;
+
+/**
+ * A thread-safe, size-bounded cache. Lookups of cached values do not acquire any lock.
+ * When multiple threads simultaneously request a value that is not yet cached, only one
+ * of them will run the loader function; the others wait for it to finish (single-flight
+ * loading). When the number of entries exceeds the capacity of the cache, the least
+ * recently used entries are evicted. Since access times are recorded without
+ * synchronization, eviction is approximately, rather than strictly LRU.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class BoundedCache<K, V> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BoundedCache.class);
+
+  /**
+   * Snapshot of the usage statistics of a {@code BoundedCache}.
+   *
+   * @param hits the number of lookups that found the value in the cache
+   * @param misses the number of lookups that required the value to be loaded
+   * @param loadTime the total time (in nanoseconds) spent loading values
+   * @param evictions the number of evicted entries
+   * @param size the current number of entries in the cache
+   */
+  public record Statistics(long hits, long misses, long loadTime, long evictions, int size) {
+
+    /**
+     * Returns the fraction of lookups that found the value in the cache, or 0 if no
+     * lookups have taken place yet.
+     *
+     * @return the fraction of lookups that found the value in the cache
+     */
+    public double hitRate() {
+      long total = hits + misses;
+      return total == 0 ? 0D : (double) hits / total;
+    }
+  }
+
+  private static final class Node<V> {
+    private final FutureTask<V> task;
+    private volatile long lastAccess;
+
+    private Node(FutureTask<V> task) {
+      this.task = task;
+      this.lastAccess = System.nanoTime();
+    }
+  }
+
+  private record Candidate<K, V>(K key, Node<V> node, long lastAccess) { }
+
+  private final ConcurrentHashMap<K, Node<V>> map;
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loadTime = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final String name;
+  private final int capacity;
+
+  /**
+   * Creates a new {@code BoundedCache} with the specified name and capacity.
+   *
+   * @param name a descriptive name for the cache (used for logging purposes)
+   * @param capacity the maximum number of entries in the cache
+   */
+  public BoundedCache(String name, int capacity) {
+    Check.that(capacity).is(gt(), 0);
+    this.name = name;
+    this.capacity = capacity;
+    this.map = new ConcurrentHashMap<>(Math.min(capacity, 64));
+  }
+
+  /**
+   * Returns the value associated with the specified key, using the specified function
+   * to load the value if it is not in the cache yet. If the loader function throws an
+   * exception, nothing is cached and the exception is passed on to all threads waiting
+   * for the value.
+   *
+   * @param key the key
+   * @param loader the function that produces the value if not yet present
+   * @return the value associated with the specified key
+   */
+  public V get(K key, Function<? super K, ? extends V> loader) {
+    Node<V> node = map.get(key);
+    if (node == null) {
+      Node<V> created = new Node<>(new FutureTask<>(() -> loader.apply(key)));
+      node = map.putIfAbsent(key, created);
+      if (node == null) {
+        misses.increment();
+        long start = System.nanoTime();
+        created.task.run();
+        loadTime.add(System.nanoTime() - start);
+        if (map.size() > capacity) {
+          evict();
+        }
+        return await(key, created);
+      }
+    }
+    hits.increment();
+    node.lastAccess = System.nanoTime();
+    return await(key, node);
+  }
+
+  /**
+   * Removes all entries from the cache. The statistics are left unaffected.
+   */
+  public void clear() {
+    map.clear();
+  }
+
+  /**
+   * Returns the number of entries in the cache.
+   *
+   * @return the number of entries in the cache
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Returns the maximum number of entries in the cache.
+   *
+   * @return the maximum number of entries in the cache
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns a snapshot of the usage statistics of this cache.
+   *
+   * @return a snapshot of the usage statistics of this cache
+   */
+  public Statistics getStatistics() {
+    return new Statistics(hits.sum(),
+          misses.sum(),
+          loadTime.sum(),
+          evictions.sum(),
+          map.size());
+  }
+
+  @Override
+  public String toString() {
+    return name + ": " + getStatistics();
+  }
+
+  private V await(K key, Node<V> node) {
+    try {
+      return node.task.get();
+    } catch (ExecutionException e) {
+      map.remove(key, node);
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      } else if (e.getCause() instanceof Error err) {
+        throw err;
+      }
+      throw Utils.wrap(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Utils.wrap(e);
+    }
+  }
+
+  /*
+   * Evicts the least recently used entries. We evict somewhat more entries than strictly
+   * necessary, so we don't end up having to scan the entire cache upon every subsequent
+   * cache miss. If another thread is already busy evicting entries, we leave it to that
+   * thread.
+   */
+  private void evict() {
+    if (evictionLock.tryLock()) {
+      try {
+        int excess = map.size() - capacity;
+        if (excess > 0) {
+          excess += capacity / 8;
+          // Take a snapshot of the access times so they cannot change while sorting
+          List<Candidate<K, V>> candidates = new ArrayList<>(map.size());
+          map.forEach((k, v) -> candidates.add(new Candidate<>(k, v, v.lastAccess)));
+          candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+          int max = Math.min(excess, candidates.size());
+          for (int i = 0; i < max; ++i) {
+            Candidate<K, V> c = candidates.get(i);
+            if (map.remove(c.key(), c.node())) {
+              evictions.increment();
+            }
+          }
+          LOG.debug("{}: evicted {} entries", name, max);
+        }
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ import org.klojang.jdbc.DatabaseException;
 import java.util.function.Supplier;
 
 import static org.klojang.jdbc.util.SQLTypeUtil.getTypeName;
+import static org.klojang.util.ClassMethods.className;
 
 public final class Err {
 
@@ -34,9 +35,32 @@ public final class Err {
   public static final String KEY_COUNT_MISMATCH
         = "actual number of database-generated keys (${arg}) does not match expected number (${obj})";
 
+  public static final String COLUMN_TYPE_MISMATCH
+        = "column ${0} does not contain ${1} values";
+
+  public static final String DUPLICATE_COLUMN_NAME
+        = "column ${0} maps to the same name as a preceding column: ${arg}";
+
+  public static final String SQL_EXPRESSION_NOT_BINDABLE
+        = "SQL expressions cannot be bound to a parameter";
+
+  public static final String SQL_EXPRESSION_NOT_LOADABLE
+        = "SQL expressions cannot be bulk loaded";
+
+  public static final String UPSERT_NOT_SUPPORTED
+        = "batch upsert not supported for ${0}";
+
+  public static final String NO_KEY_PROPERTIES
+        = "key properties must be specified for batch upsert";
+
   public static final String STALE_QUERY
         = "No query with ID ${0} in cache. It may have gone stale";
 
+  public static DatabaseException notBulkLoadable(Object value) {
+    return new DatabaseException("values of type " + className(value)
+          + " cannot be bulk loaded. Use a BeanValueProcessor to convert them");
+  }
+
    public static Supplier<DatabaseException> sqlDataTypeNotSupported(int sqlType) {
     return () -> new DatabaseException("unsupported SQL data type: " + getTypeName(sqlType));
   }
@@ -73,6 +73,21 @@ public final class JDBC {
     }
   }
 
+  // Executes the batch using executeLargeBatch() if the driver supports it, else using
+  // executeBatch().
+  public static long[] executeBatch(Statement stmt) throws SQLException {
+    try {
+      return stmt.executeLargeBatch();
+    } catch (UnsupportedOperationException | SQLFeatureNotSupportedException e) {
+      int[] counts = stmt.executeBatch();
+      long[] result = new long[counts.length];
+      for (int i = 0; i < counts.length; ++i) {
+        result[i] = counts[i];
+      }
+      return result;
+    }
+  }
+
   public static String quote(Statement stmt, Object value) throws SQLException {
     return switch (value) {
       case null -> "NULL";
@@ -83,6 +98,41 @@ public final class JDBC {
     };
   }
 
+  // Same as quote(), but escapes and quotes strings the way the default implementation
+  // of Statement.enquoteLiteral() does, without involving the JDBC driver
+  public static String quoteStandard(Object value) {
+    return switch (value) {
+      case null -> "NULL";
+      case Number x -> x.toString();
+      case Boolean x -> x.toString();
+      case SQLExpression x -> x.toString();
+      default -> enquoteStandard(value.toString());
+    };
+  }
+
+  /**
+   * Returns whether the JDBC driver escapes and quotes string literals just like the
+   * default implementation of {@link Statement#enquoteLiteral(String)}: by doubling
+   * single quotes, and leaving all other characters (including backslashes) alone. If
+   * so, {@link #quoteStandard(Object)} yields the same result as
+   * {@link #quote(Statement, Object)}.
+   *
+   * @param stmt the {@code Statement} to probe
+   * @return whether the JDBC driver uses standard SQL quoting
+   */
+  public static boolean usesStandardQuoting(Statement stmt) {
+    String probe = "a'b\\c";
+    try {
+      return enquoteStandard(probe).equals(stmt.enquoteLiteral(probe));
+    } catch (SQLException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static String enquoteStandard(String val) {
+    return "'" + val.replace("'", "''") + "'";
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   public static void setID(Object bean, String idProperty, long value)
         throws Throwable {
@@ -5,8 +5,6 @@ import org.klojang.jdbc.SQL;
 import org.klojang.jdbc.SessionConfig;
 import org.klojang.util.IOMethods;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -16,10 +14,16 @@ import static org.klojang.jdbc.x.Strings.CONFIG;
 
 /**
  * Cache of {@link SQL} objects created using from a classpath resource. Used to minimize
- * file i/o.
+ * file i/o. The cache is thread-safe and bounded. Each file is read just once, even when
+ * multiple threads simultaneously request the same {@code SQL} object.
  */
 public final class SQLCache {
 
+  /**
+   * The maximum number of {@code SQL} objects held by the cache.
+   */
+  public static final int CAPACITY = 512;
+
   private record Key(String path, Class<?> clazz, SessionConfig config) {
     private static Key of(String path, Class<?> clazz, SessionConfig config) {
       return new Key(path, clazz, config);
@@ -30,12 +34,15 @@ public final class SQLCache {
     }
   }
 
-  private static final Map<Key, SQL> cache = new HashMap<>();
+  private static final BoundedCache<Key, SQL> cache = new BoundedCache<>("SQLCache",
+        CAPACITY);
+
+  private SQLCache() { throw new UnsupportedOperationException(); }
 
   public static SQL get(Class<?> clazz, String path, Function<String, SQL> factory) {
     Check.notNull(clazz, CLASS);
     Check.notNull(path, PATH);
-    return cache.computeIfAbsent(Key.of(path, clazz), k -> {
+    return cache.get(Key.of(path, clazz), k -> {
       try {
         String sql = IOMethods.getContents(clazz, path);
         return factory.apply(sql);
@@ -52,7 +59,7 @@ public final class SQLCache {
     Check.notNull(clazz, CLASS);
     Check.notNull(path, PATH);
     Check.notNull(config, CONFIG);
-    return cache.computeIfAbsent(Key.of(path, clazz, config), k -> {
+    return cache.get(Key.of(path, clazz, config), k -> {
       try {
         String sql = IOMethods.getContents(clazz, path);
         return factory.apply(config, sql);
@@ -61,4 +68,13 @@ public final class SQLCache {
       }
     });
   }
+
+  /**
+   * Returns the hit/miss/load-time statistics of the cache.
+   *
+   * @return the hit/miss/load-time statistics of the cache
+   */
+  public static BoundedCache.Statistics getStatistics() {
+    return cache.getStatistics();
+  }
 }
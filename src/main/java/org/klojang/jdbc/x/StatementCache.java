@@ -0,0 +1,219 @@
+package org.klojang.jdbc.x;
+
+import org.klojang.jdbc.x.sql.ParameterInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of {@link PreparedStatement} objects, keyed by SQL string and key-retrieval
+ * mode. A {@code StatementCache} belongs to a single session, and hence to a single
+ * connection: the connection held by the session. It does not outlive the session, and
+ * it does not keep the connection reachable once the session has been discarded. A
+ * {@code PreparedStatement} is checked out of the cache when a {@code SQLStatement} is
+ * created, and checked back in when the {@code SQLStatement} is closed. A statement is
+ * never handed out twice at the same time, so nested use of the same session is safe.
+ * The cache holds at most a fixed number of idle statements. Statements that are
+ * evicted from the cache are closed. Once the connection is found to be closed, all
+ * idle statements are discarded.
+ */
+public final class StatementCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StatementCache.class);
+
+  /**
+   * Key-retrieval mode used for statements created through
+   * {@link Connection#prepareStatement(String)}, as opposed to
+   * {@link Connection#prepareStatement(String, int)}.
+   */
+  public static final int UNSPECIFIED = -1;
+
+  private record Key(String sql, int keyMode) { }
+
+  // Statistics across all caches
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+  private static final LongAdder prepareTime = new LongAdder();
+  private static final LongAdder evictions = new LongAdder();
+  private static final LongAdder idleCount = new LongAdder();
+
+  /**
+   * Returns the hit/miss statistics of all statement caches together. The
+   * {@code loadTime} component of the returned object contains the total time spent
+   * preparing statements, and the {@code size} component contains the number of idle
+   * statements across all caches.
+   *
+   * @return the hit/miss statistics of the statement caches
+   */
+  public static BoundedCache.Statistics getStatistics() {
+    return new BoundedCache.Statistics(hits.sum(),
+          misses.sum(),
+          prepareTime.sum(),
+          evictions.sum(),
+          idleCount.intValue());
+  }
+
+  private final Connection con;
+  private final int capacity;
+
+  private final Map<PreparedStatement, Key> inUse = new IdentityHashMap<>();
+  // Oldest first
+  private final LinkedHashMap<PreparedStatement, Key> idle = new LinkedHashMap<>();
+
+  /**
+   * Creates a new {@code StatementCache} for the specified connection.
+   *
+   * @param con the connection held by the session
+   * @param capacity the maximum number of idle statements to cache
+   */
+  public StatementCache(Connection con, int capacity) {
+    this.con = con;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns a cleared {@code PreparedStatement} for the specified SQL, either from the
+   * cache or newly created.
+   *
+   * @param paramInfo provides the SQL to prepare
+   * @param keyMode one of {@link java.sql.Statement#RETURN_GENERATED_KEYS},
+   *       {@link java.sql.Statement#NO_GENERATED_KEYS} or {@link #UNSPECIFIED}
+   * @return a {@code PreparedStatement}
+   */
+  public PreparedStatement checkout(ParameterInfo paramInfo, int keyMode) {
+    Key key = new Key(paramInfo.normalizedSQL(), keyMode);
+    try {
+      PreparedStatement ps = take(key);
+      if (ps != null) {
+        hits.increment();
+        return ps;
+      }
+      misses.increment();
+      long start = System.nanoTime();
+      if (keyMode == UNSPECIFIED) {
+        ps = con.prepareStatement(key.sql());
+      } else {
+        ps = con.prepareStatement(key.sql(), keyMode);
+      }
+      prepareTime.add(System.nanoTime() - start);
+      synchronized (this) {
+        inUse.put(ps, key);
+      }
+      return ps;
+    } catch (SQLException e) {
+      throw Utils.wrap(e, paramInfo);
+    }
+  }
+
+  /**
+   * Returns the specified statement to the cache. If the statement was not obtained from
+   * the cache, or if the connection has been closed, the statement is closed (and, in
+   * the latter case, so are all idle statements).
+   *
+   * @param ps the statement
+   */
+  public void checkin(PreparedStatement ps) {
+    if (!giveBack(ps)) {
+      close(ps);
+    }
+  }
+
+  private synchronized PreparedStatement take(Key key) {
+    if (!isUsable()) {
+      clear();
+      return null;
+    }
+    // Prefer the most recently used statement
+    for (Iterator<Map.Entry<PreparedStatement, Key>> it =
+          idle.sequencedEntrySet().reversed().iterator(); it.hasNext(); ) {
+      Map.Entry<PreparedStatement, Key> e = it.next();
+      if (e.getValue().equals(key)) {
+        PreparedStatement ps = e.getKey();
+        it.remove();
+        idleCount.decrement();
+        if (isClosed(ps)) {
+          continue;
+        }
+        inUse.put(ps, key);
+        return ps;
+      }
+    }
+    return null;
+  }
+
+  private synchronized boolean giveBack(PreparedStatement ps) {
+    Key key = inUse.remove(ps);
+    if (key == null) {
+      return false;
+    }
+    if (!isUsable()) {
+      clear();
+      return false;
+    }
+    if (isClosed(ps)) {
+      return false;
+    }
+    try {
+      ps.clearParameters();
+      ps.clearBatch();
+      ps.clearWarnings();
+      // Undo SQLQuery.withFetchSize() and SQLQuery.withFetchDirection(), and any
+      // settings applied directly to the PreparedStatement
+      ps.setFetchSize(0);
+      ps.setFetchDirection(ResultSet.FETCH_FORWARD);
+      ps.setMaxRows(0);
+      ps.setQueryTimeout(0);
+    } catch (SQLException e) {
+      return false;
+    }
+    idle.put(ps, key);
+    idleCount.increment();
+    if (idle.size() > capacity) {
+      PreparedStatement eldest = idle.pollFirstEntry().getKey();
+      idleCount.decrement();
+      evictions.increment();
+      close(eldest);
+    }
+    return true;
+  }
+
+  private boolean isUsable() {
+    try {
+      return !con.isClosed();
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private static boolean isClosed(PreparedStatement ps) {
+    try {
+      return ps.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private void clear() {
+    idleCount.add(-idle.size());
+    idle.keySet().forEach(StatementCache::close);
+    idle.clear();
+  }
+
+  private static void close(PreparedStatement ps) {
+    try {
+      ps.close();
+    } catch (SQLException e) {
+      LOG.debug("Error while closing statement: {}", e.toString());
+    }
+  }
+
+}
@@ -12,6 +12,13 @@ public final class Strings {
   public static final String RECORD = "record";
   public static final String LIMIT = "limit";
   public static final String SIZE_ESTIMATE = "sizeEstimate";
+  public static final String FETCH_SIZE = "fetchSize";
+  public static final String CHUNK_SIZE = "chunkSize";
+  public static final String PARALLELISM = "parallelism";
+  public static final String BULK_LOADER = "bulkLoader";
+  public static final String KEY_PROPERTY = "key property";
+  public static final String ACTION = "action";
+  public static final String COLUMN = "column";
   public static final String CLAZZ = "beanClass";
   public static final String ID_PROPERTY = "ID property";
   public static final String ID_KEY = "ID key";
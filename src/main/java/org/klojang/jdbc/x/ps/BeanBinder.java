@@ -2,32 +2,181 @@ package org.klojang.jdbc.x.ps;
 
 import org.klojang.jdbc.SessionConfig;
 import org.klojang.jdbc.x.sql.NamedParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.sql.PreparedStatement;
-import java.util.ArrayList;
+import java.sql.Types;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Objects;
+
+import static java.lang.invoke.MethodType.methodType;
 
 /**
- * Binds the values within in a JavaBean or record to a PreparedStatement.
+ * Binds the values within in a JavaBean or record to a PreparedStatement. If
+ * {@link SessionConfig#compileBeanAccessors()} returns {@code true}, the
+ * {@code BeanBinder} compiles the {@link PropertyBinder} instances into a single method
+ * handle. For properties that are bound using one of the plain setXXX() methods of
+ * {@code PreparedStatement} (without any further conversion), the compiled method handle
+ * directly passes the return value of the getter to the setXXX() method, without boxing
+ * primitive values. For all other properties, the compiled method handle delegates to
+ * the {@code PropertyBinder}.
  */
 public final class BeanBinder<T> {
 
-  private final List<NamedParameter> bound = new ArrayList<>();
+  private static final Logger LOG = LoggerFactory.getLogger(BeanBinder.class);
+
+  private static final MethodType BIND = methodType(void.class,
+        PreparedStatement.class,
+        Object.class);
+
+  private final List<NamedParameter> params;
+  // The indexes (within params) of the parameters bound by this BeanBinder
+  private final BitSet bound;
 
   private final PropertyBinder<?, ?>[] readers;
+  // (PreparedStatement,Object)void method handle, or null
+  private final MethodHandle compiled;
 
   // Creates a BeanBinder capable binding JavaBeans of the specified type to a query
   // containing the specified named parameters.
   public BeanBinder(Class<T> beanClass, List<NamedParameter> params, SessionConfig config) {
-    readers = PropertyBinder.createReaders(beanClass, params, config, bound);
+    this.params = params;
+    this.bound = new BitSet(params.size());
+    this.readers = PropertyBinder.createReaders(beanClass, params, config, bound);
+    this.compiled = config.compileBeanAccessors() ? compile(readers, beanClass) : null;
   }
 
   public void bind(PreparedStatement ps, T bean) throws Throwable {
-    PropertyBinder.readAll(ps, bean, readers);
+    if (compiled == null) {
+      PropertyBinder.readAll(ps, bean, readers);
+    } else {
+      compiled.invokeExact(ps, (Object) bean);
+    }
+  }
+
+  // Returns the named parameters in the SQL for which this BeanBinder was created.
+  public List<NamedParameter> getParameters() {
+    return params;
+  }
+
+  // Marks the parameters that can be bound by this BeanBinder as bound. The bits in the
+  // provided BitSet correspond to the indexes of the parameters in getParameters().
+  public void markBound(BitSet bits) {
+    bits.or(bound);
+  }
+
+  // Whether this BeanBinder invokes a compiled method handle.
+  public boolean isCompiled() {
+    return compiled != null;
   }
 
-  // Returns all parameters in the SQL that can be bound by this BeanBinder.
-  public List<NamedParameter> getBoundParameters() {
-    return List.copyOf(bound);
+  private static MethodHandle compile(PropertyBinder<?, ?>[] readers, Class<?> beanClass) {
+    if (LOG.isTraceEnabled()) {
+      // Only the PropertyBinder instances log the values they bind
+      return null;
+    }
+    try {
+      MethodHandle mh = MethodHandles.empty(BIND);
+      for (int i = readers.length - 1; i >= 0; --i) {
+        mh = MethodHandles.foldArguments(mh, compile(readers[i], beanClass));
+      }
+      return mh;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.debug("Failed to compile bean binder for {}: {}", beanClass, e.toString());
+      return null;
+    }
   }
+
+  // Returns a (PreparedStatement,Object)void method handle for the provided
+  // PropertyBinder
+  private static MethodHandle compile(PropertyBinder<?, ?> reader, Class<?> beanClass)
+        throws ReflectiveOperationException {
+    MethodHandle mh = direct(reader, beanClass);
+    if (mh == null) {
+      mh = MethodHandles.lookup()
+            .findVirtual(PropertyBinder.class, "bindProperty", BIND)
+            .bindTo(reader);
+    }
+    return mh;
+  }
+
+  private static MethodHandle direct(PropertyBinder<?, ?> reader, Class<?> beanClass)
+        throws ReflectiveOperationException {
+    if (reader.customBinder() != null || reader.binder().isAdaptive()) {
+      return null;
+    }
+    MethodHandle set = reader.binder().setter().getMethodHandle();
+    if (set == null) {
+      return null;
+    }
+    // The type of the value passed to the setXXX() method
+    Class<?> type = set.type().parameterType(2);
+    Class<?> propertyType = reader.getter().getReturnType();
+    if (type != propertyType) {
+      if (type.isPrimitive() || !type.isAssignableFrom(propertyType)) {
+        return null;
+      }
+    }
+    Method m = findGetter(beanClass, reader.getter().getProperty(), propertyType);
+    if (m == null) {
+      return null;
+    }
+    // A public lookup does not require this module to read the module of the bean class
+    MethodHandle get = MethodHandles.publicLookup()
+          .unreflect(m)
+          .asType(methodType(type, Object.class));
+    // (PreparedStatement,type)void
+    MethodHandle bind = MethodHandles.empty(methodType(void.class,
+          PreparedStatement.class,
+          type));
+    int[] positions = reader.param().positions().toArray();
+    for (int i = positions.length - 1; i >= 0; --i) {
+      bind = MethodHandles.foldArguments(bind, setAt(set, positions[i], type));
+    }
+    // (PreparedStatement,Object)void, calling the getter just once
+    return MethodHandles.filterArguments(bind, 1, get);
+  }
+
+  // Returns a (PreparedStatement,type)void method handle that binds the value to the
+  // specified position. Null values are bound the way ValueBinder binds them.
+  private static MethodHandle setAt(MethodHandle set, int position, Class<?> type)
+        throws ReflectiveOperationException {
+    MethodHandle mh = MethodHandles.insertArguments(set, 1, position);
+    if (type.isPrimitive()) {
+      return mh;
+    }
+    MethodHandle setNull = MethodHandles.lookup()
+          .findVirtual(PreparedStatement.class,
+                "setNull",
+                methodType(void.class, int.class, int.class));
+    setNull = MethodHandles.insertArguments(setNull, 1, position, Types.OTHER);
+    setNull = MethodHandles.dropArguments(setNull, 1, type);
+    MethodHandle isNull = MethodHandles.lookup()
+          .findStatic(Objects.class, "isNull", methodType(boolean.class, Object.class))
+          .asType(methodType(boolean.class, type));
+    isNull = MethodHandles.dropArguments(isNull, 0, PreparedStatement.class);
+    return MethodHandles.guardWithTest(isNull, setNull, mh);
+  }
+
+  private static Method findGetter(Class<?> beanClass, String property, Class<?> type) {
+    String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    for (String name : new String[] {"get" + suffix, "is" + suffix, property}) {
+      try {
+        Method m = beanClass.getMethod(name);
+        if (m.getReturnType() == type) {
+          return m;
+        }
+      } catch (NoSuchMethodException e) {
+        // try next
+      }
+    }
+    return null;
+  }
+
 }
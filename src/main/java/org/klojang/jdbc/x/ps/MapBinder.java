@@ -10,9 +10,10 @@ import java.sql.PreparedStatement;
 import java.sql.Types;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.klojang.jdbc.CustomBinder;
@@ -21,81 +22,148 @@ import static org.klojang.jdbc.x.ps.PreparedStatementMethod.SET_STRING;
 import static org.klojang.util.ClassMethods.isSubtype;
 
 /**
- * Binds the values within in a Map to a PreparedStatement.
+ * Binds the values within in a Map to a PreparedStatement. How a value is bound depends
+ * on the type of the map, the name of the parameter and the type of the value. The
+ * {@link SessionConfig} is consulted just once for each combination of the three. The
+ * outcome (the binding "plan") is cached, and shared with the {@code MapBinder}
+ * instances created through {@link #withParameters(List)}. In addition, each parameter
+ * remembers the plan it used last, so that, as long as the map type and the value type
+ * stay the same, binding a value involves no lookup in the shared cache.
  */
 public final class MapBinder {
 
   private static final Logger LOG = LoggerFactory.getLogger(MapBinder.class);
 
+  private record Key(Class<?> mapType, String param, Class<?> valType) { }
+
+  // Either custom or binder is null
+  private record Plan(CustomBinder custom, ValueBinder<?, ?> binder) { }
+
+  // The plan most recently used for a parameter
+  private record Slot(Class<?> mapType, Class<?> valType, Plan plan) { }
+
   private final List<NamedParameter> params;
   private final SessionConfig config;
+  private final Map<Key, Plan> plans;
+  // One slot per parameter. Slots are immutable, so a racy update at worst causes a
+  // lookup in the shared cache.
+  private final Slot[] slots;
 
   public MapBinder(List<NamedParameter> params, SessionConfig config) {
+    this(params, config, new ConcurrentHashMap<>());
+  }
+
+  private MapBinder(List<NamedParameter> params,
+        SessionConfig config,
+        Map<Key, Plan> plans) {
     this.params = params;
     this.config = config;
+    this.plans = plans;
+    this.slots = new Slot[params.size()];
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
-  public void bind(PreparedStatement stmt, Map<String, Object> map,
-        Set<NamedParameter> bound) throws Throwable {
-    for (NamedParameter param : params) {
+  /**
+   * Returns the parameters bound by this {@code MapBinder}.
+   *
+   * @return the parameters bound by this {@code MapBinder}
+   */
+  public List<NamedParameter> parameters() {
+    return params;
+  }
+
+  /**
+   * Returns a {@code MapBinder} for the specified parameters that shares its binding
+   * plans with this {@code MapBinder}.
+   *
+   * @param params the parameters
+   * @return a {@code MapBinder} for the specified parameters
+   */
+  public MapBinder withParameters(List<NamedParameter> params) {
+    return new MapBinder(params, config, plans);
+  }
+
+  /**
+   * Binds the values in the specified map to the parameters of this {@code MapBinder}.
+   * For each parameter that was bound, the bit corresponding to the index of the
+   * parameter in {@link #parameters()} is set in the provided {@code BitSet}.
+   *
+   * @param stmt the {@code PreparedStatement}
+   * @param map the map
+   * @param bound the {@code BitSet} keeping track of the parameters bound so far
+   * @throws Throwable if anything goes wrong
+   */
+  public void bind(PreparedStatement stmt, Map<String, Object> map, BitSet bound)
+        throws Throwable {
+    Class<?> mapType = map.getClass();
+    for (int i = 0; i < params.size(); ++i) {
+      NamedParameter param = params.get(i);
       String key = param.name();
-      if (!map.containsKey(key)) {
-        continue;
-      }
-      bound.add(param);
       Object val = map.get(key);
       if (val == null) {
-        LOG.trace("==> Parameter \"{}\": null", key);
-        param.positions().forEachThrowing(i -> stmt.setNull(i, Types.OTHER));
-        continue;
-      }
-      Class mapType = map.getClass();
-      Class valType = val.getClass();
-      CustomBinder cb = config.getCustomBinder(mapType, key, valType);
-      if (cb != null) {
-        LOG.trace("==> Parameter \"{}\": {} (using custom binder)", key, val);
-        param.positions().forEachThrowing(i -> cb.bind(stmt, i, val));
-        continue;
-      }
-      Integer sqlType = config.getSQLType(mapType, key, valType);
-      if (sqlType != null) {
-        ValueBinderFactory factory = ValueBinderFactory.getInstance();
-        ValueBinder vb = factory.getBinder(valType, sqlType);
-        bind(stmt, param, vb, val);
-        continue;
-      }
-      if (isSubtype(valType, Enum.class)) {
-        ValueBinder vb = config.saveEnumAsString(mapType, key, valType)
-              ? ValueBinder.ANY_TO_STRING
-              : EnumBinderLookup.DEFAULT;
-        bind(stmt, param, vb, val);
-        continue;
-      }
-      if (isSubtype(valType, TemporalAccessor.class)) {
-        DateTimeFormatter dtf = config.getDateTimeFormatter(mapType, key, valType);
-        if (dtf != null) {
-          ValueBinder vb = ValueBinder.dateTimeToString(dtf);
-          bind(stmt, param, vb, val);
+        if (!map.containsKey(key)) {
           continue;
         }
-      }
-      Function<Object, String> ser0 = config.getSerializer(mapType, key, valType);
-      if (ser0 != null) {
-        ValueBinder vb = new ValueBinder<>(SET_STRING, ser0);
-        bind(stmt, param, vb, val);
+        bound.set(i);
+        LOG.trace("==> Parameter \"{}\": null", key);
+        param.positions().forEachThrowing(j -> stmt.setNull(j, Types.OTHER));
         continue;
       }
-      Function<Object, byte[]> ser1 = config.getBinarySerializer(mapType, key, valType);
-      if (ser1 != null) {
-        ValueBinder vb = new ValueBinder<>(SET_BYTES, ser1);
-        bind(stmt, param, vb, val);
-        continue;
+      bound.set(i);
+      Class<?> valType = val.getClass();
+      Slot slot = slots[i];
+      Plan plan;
+      if (slot != null && slot.mapType() == mapType && slot.valType() == valType) {
+        plan = slot.plan();
+      } else {
+        plan = plans.computeIfAbsent(new Key(mapType, key, valType), this::plan);
+        slots[i] = new Slot(mapType, valType, plan);
       }
+      if (plan.custom() != null) {
+        LOG.trace("==> Parameter \"{}\": {} (using custom binder)", key, val);
+        CustomBinder cb = plan.custom();
+        param.positions().forEachThrowing(j -> cb.bind(stmt, j, val));
+      } else {
+        bind(stmt, param, plan.binder(), val);
+      }
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Plan plan(Key k) {
+    Class mapType = k.mapType();
+    String key = k.param();
+    Class valType = k.valType();
+    CustomBinder cb = config.getCustomBinder(mapType, key, valType);
+    if (cb != null) {
+      return new Plan(cb, null);
+    }
+    Integer sqlType = config.getSQLType(mapType, key, valType);
+    if (sqlType != null) {
       ValueBinderFactory factory = ValueBinderFactory.getInstance();
-      ValueBinder vb = factory.getDefaultBinder(valType);
-      bind(stmt, param, vb, val);
+      return new Plan(null, factory.getBinder(valType, sqlType));
+    }
+    if (isSubtype(valType, Enum.class)) {
+      ValueBinder vb = config.saveEnumAsString(mapType, key, valType)
+            ? ValueBinder.ANY_TO_STRING
+            : EnumBinderLookup.DEFAULT;
+      return new Plan(null, vb);
+    }
+    if (isSubtype(valType, TemporalAccessor.class)) {
+      DateTimeFormatter dtf = config.getDateTimeFormatter(mapType, key, valType);
+      if (dtf != null) {
+        return new Plan(null, ValueBinder.dateTimeToString(dtf));
+      }
+    }
+    Function<Object, String> ser0 = config.getSerializer(mapType, key, valType);
+    if (ser0 != null) {
+      return new Plan(null, new ValueBinder<>(SET_STRING, ser0));
+    }
+    Function<Object, byte[]> ser1 = config.getBinarySerializer(mapType, key, valType);
+    if (ser1 != null) {
+      return new Plan(null, new ValueBinder<>(SET_BYTES, ser1));
     }
+    ValueBinderFactory factory = ValueBinderFactory.getInstance();
+    return new Plan(null, factory.getDefaultBinder(valType));
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
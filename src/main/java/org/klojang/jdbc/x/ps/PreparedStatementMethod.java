@@ -3,8 +3,14 @@ package org.klojang.jdbc.x.ps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.sql.*;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Map.entry;
 
 /**
  * Represents one of the setXXX() methods of PreparedStatement.
@@ -109,6 +115,24 @@ public abstract sealed class PreparedStatementMethod<PARAM_TYPE> {
   public static final PreparedStatementMethod<Timestamp> SET_TIMESTAMP = new SetTimestamp();
   public static final PreparedStatementMethod<Object> SET_OBJECT = new SetObject();
 
+  // Method handles for the PreparedStatement methods encapsulated by the above constants
+  @SuppressWarnings("rawtypes")
+  private static final Map<PreparedStatementMethod, MethodHandle> handles = Map.ofEntries(
+        entry(SET_STRING, handle("setString", String.class)),
+        entry(SET_INT, handle("setInt", int.class)),
+        entry(SET_DOUBLE, handle("setDouble", double.class)),
+        entry(SET_LONG, handle("setLong", long.class)),
+        entry(SET_FLOAT, handle("setFloat", float.class)),
+        entry(SET_SHORT, handle("setShort", short.class)),
+        entry(SET_BYTE, handle("setByte", byte.class)),
+        entry(SET_BYTES, handle("setBytes", byte[].class)),
+        entry(SET_BOOLEAN, handle("setBoolean", boolean.class)),
+        entry(SET_BIG_DECIMAL, handle("setBigDecimal", BigDecimal.class)),
+        entry(SET_DATE, handle("setDate", Date.class)),
+        entry(SET_TIME, handle("setTime", Time.class)),
+        entry(SET_TIMESTAMP, handle("setTimestamp", Timestamp.class)),
+        entry(SET_OBJECT, handle("setObject", Object.class)));
+
   private final Class<PARAM_TYPE> paramType;
 
   private PreparedStatementMethod(Class<PARAM_TYPE> paramType) {
@@ -122,4 +146,24 @@ public abstract sealed class PreparedStatementMethod<PARAM_TYPE> {
   abstract void invoke(PreparedStatement ps, int paramIndex, PARAM_TYPE paramValue)
         throws SQLException;
 
+  /*
+   * Returns a (PreparedStatement,int,PARAM_TYPE)void method handle for the
+   * PreparedStatement method encapsulated by this instance, or null if this instance
+   * encapsulates PreparedStatement.setObject(int, Object, int). Note that the method
+   * handle takes a primitive type if the PreparedStatement method takes a primitive type.
+   */
+  MethodHandle getMethodHandle() {
+    return handles.get(this);
+  }
+
+  private static MethodHandle handle(String name, Class<?> paramType) {
+    try {
+      return MethodHandles.lookup().findVirtual(PreparedStatement.class,
+            name,
+            methodType(void.class, int.class, paramType));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
 }
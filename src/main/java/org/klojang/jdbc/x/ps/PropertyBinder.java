@@ -12,6 +12,7 @@ import java.sql.PreparedStatement;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -37,7 +38,9 @@ final class PropertyBinder<INPUT_TYPE, PARAM_TYPE> {
   @SuppressWarnings({"rawtypes", "unchecked"})
   static <T> void readAll(PreparedStatement ps, T bean, PropertyBinder[] readers)
         throws Throwable {
-    LOG.debug("Binding {} to PreparedStatement", bean.getClass().getSimpleName());
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Binding {} to PreparedStatement", bean.getClass().getSimpleName());
+    }
     for (PropertyBinder reader : readers) {
       reader.bindProperty(ps, bean);
     }
@@ -47,16 +50,17 @@ final class PropertyBinder<INPUT_TYPE, PARAM_TYPE> {
   static PropertyBinder[] createReaders(Class beanClass,
         List<NamedParameter> params,
         SessionConfig config,
-        List<NamedParameter> bound) {
+        BitSet bound) {
     ValueBinderFactory factory = ValueBinderFactory.getInstance();
     Map<String, Getter> getters = GetterFactory.INSTANCE.getGetters(beanClass, true);
     List<PropertyBinder> readers = new ArrayList<>(params.size());
-    for (NamedParameter param : params) {
+    for (int i = 0; i < params.size(); ++i) {
+      NamedParameter param = params.get(i);
       Getter getter = getters.get(param.name());
       if (getter == null) {
         continue;
       }
-      bound.add(param);
+      bound.set(i);
       String property = param.name();
       Class type = getter.getReturnType();
       CustomBinder custom = config.getCustomBinder(beanClass, property, type);
@@ -123,8 +127,16 @@ final class PropertyBinder<INPUT_TYPE, PARAM_TYPE> {
     this.binder = null;
   }
 
+  Getter getter() { return getter; }
+
+  NamedParameter param() { return param; }
+
+  ValueBinder<INPUT_TYPE, PARAM_TYPE> binder() { return binder; }
+
+  CustomBinder customBinder() { return customBinder; }
+
   @SuppressWarnings("unchecked")
-  private <T> void bindProperty(PreparedStatement ps, T bean) throws Throwable {
+  <T> void bindProperty(PreparedStatement ps, T bean) throws Throwable {
     INPUT_TYPE beanValue = (INPUT_TYPE) getter.read(bean);
     if (customBinder != null) {
       if (LOG.isTraceEnabled()) {
@@ -9,8 +9,8 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.klojang.jdbc.x.Msg.NO_PREDEFINED_BINDER;
 import static org.klojang.jdbc.x.Msg.NO_PREDEFINED_TYPE_MAPPING;
@@ -29,7 +29,7 @@ final class ValueBinderFactory {
   private record Key(Class inputType, int targetSqlType) { }
 
   private final Map<Class, Map<Integer, ValueBinder>> predefined;
-  private final Map<Key, ValueBinder> custom = new HashMap();
+  private final Map<Key, ValueBinder> custom = new ConcurrentHashMap<>();
 
   private ValueBinderFactory() {
     predefined = (Map<Class, Map<Integer, ValueBinder>>) getPredefinedBinders();
@@ -52,7 +52,7 @@ final class ValueBinderFactory {
                 simpleClassName(inputType));
         }
         binder = StringBinderLookup.DEFAULT;
-        custom.put(key, binder);
+        custom.putIfAbsent(key, binder);
       }
     } else {
       binder = binders.get(targetSqlType);
@@ -66,7 +66,10 @@ final class ValueBinderFactory {
             LOG.trace(NO_PREDEFINED_TYPE_MAPPING, javaTypeName, sqlTypeName);
           }
           binder = new ValueBinder<>(getObjectSetter(targetSqlType));
-          custom.put(key, binder);
+          ValueBinder prev = custom.putIfAbsent(key, binder);
+          if (prev != null) {
+            binder = prev;
+          }
         }
       }
     }
@@ -0,0 +1,70 @@
+package org.klojang.jdbc.x.ps;
+
+import org.klojang.jdbc.SQLExpression;
+import org.klojang.jdbc.x.Utils;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+import static org.klojang.check.CommonChecks.instanceOf;
+import static org.klojang.jdbc.x.Err.SQL_EXPRESSION_NOT_BINDABLE;
+
+/**
+ * Binds rows of loose values to a PreparedStatement containing positional parameters
+ * (as in a multi-row INSERT statement). Values are bound using the default
+ * {@link ValueBinder} for their type, except for enums, which are bound using
+ * {@link ValueBinder#ANY_TO_STRING}. Thus, the values end up in the database the same
+ * way they would if they had been embedded as literals (see
+ * {@link org.klojang.jdbc.Quoter#quoteValue(Object) Quoter.quoteValue()}). The
+ * {@code ValueBinder} is looked up once per column, and again only if the type of the
+ * values in that column changes.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class ValuesBinder {
+
+  private final Class<?>[] types;
+  private final ValueBinder[] binders;
+
+  /**
+   * Creates a {@code ValuesBinder} for rows with the specified number of values.
+   *
+   * @param width the number of values per row
+   */
+  public ValuesBinder(int width) {
+    this.types = new Class[width];
+    this.binders = new ValueBinder[width];
+  }
+
+  /**
+   * Binds the specified value to the specified parameter.
+   *
+   * @param ps the {@code PreparedStatement}
+   * @param paramIndex the (one-based) index of the parameter
+   * @param column the (zero-based) index of the value within its row
+   * @param value the value
+   * @throws Throwable if anything goes wrong
+   */
+  public void bind(PreparedStatement ps, int paramIndex, int column, Object value)
+        throws Throwable {
+    if (value == null) {
+      ps.setNull(paramIndex, Types.OTHER);
+      return;
+    }
+    ValueBinder binder;
+    if (types[column] == value.getClass()) {
+      binder = binders[column];
+    } else {
+      Utils.check(value)
+            .isNot(instanceOf(), SQLExpression.class, SQL_EXPRESSION_NOT_BINDABLE);
+      if (value instanceof Enum) {
+        binder = ValueBinder.ANY_TO_STRING;
+      } else {
+        binder = DefaultBinders.INSTANCE.getDefaultBinder(value.getClass());
+      }
+      types[column] = value.getClass();
+      binders[column] = binder;
+    }
+    binder.bind(ps, paramIndex, binder.getParamValue(value));
+  }
+
+}
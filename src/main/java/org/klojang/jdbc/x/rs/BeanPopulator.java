@@ -0,0 +1,206 @@
+package org.klojang.jdbc.x.rs;
+
+import org.klojang.invoke.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodType.methodType;
+import static org.klojang.util.ClassMethods.box;
+
+/**
+ * Populates a JavaBean with the values in the current row of a {@code ResultSet}. A
+ * {@code BeanPopulator} either loops over the {@link PropertyWriter} instances for the
+ * columns in the {@code ResultSet}, or it invokes a single method handle that was
+ * compiled from them. For columns that are read using one of the plain getXXX() methods
+ * of {@code ResultSet} (without any further conversion), the compiled method handle
+ * directly passes the return value of the getXXX() method to the setter of the bean
+ * property, without boxing primitive values. The same applies to primitive properties
+ * for which a primitive specialization of CustomReader was specified. For all other
+ * columns, the compiled method handle delegates to the {@code PropertyWriter}.
+ */
+@SuppressWarnings("rawtypes")
+public final class BeanPopulator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BeanPopulator.class);
+
+  private static final MethodType POPULATE = methodType(void.class,
+        Object.class,
+        ResultSet.class);
+
+  /**
+   * Creates a {@code BeanPopulator} that loops over the provided {@code PropertyWriter}
+   * instances.
+   *
+   * @param writers the {@code PropertyWriter} instances
+   * @return a {@code BeanPopulator}
+   */
+  public static BeanPopulator create(PropertyWriter[] writers) {
+    return new BeanPopulator(writers, null);
+  }
+
+  /**
+   * Creates a {@code BeanPopulator} that invokes a single method handle compiled from
+   * the provided {@code PropertyWriter} instances. If compilation fails, the
+   * {@code BeanPopulator} will loop over the {@code PropertyWriter} instances instead.
+   *
+   * @param writers the {@code PropertyWriter} instances
+   * @param beanClass the class of the beans to be populated
+   * @return a {@code BeanPopulator}
+   */
+  public static BeanPopulator compile(PropertyWriter[] writers, Class<?> beanClass) {
+    if (LOG.isTraceEnabled()) {
+      // Only the PropertyWriter instances log the values they write
+      return new BeanPopulator(writers, null);
+    }
+    try {
+      MethodHandle mh = MethodHandles.empty(POPULATE);
+      for (int i = writers.length - 1; i >= 0; --i) {
+        mh = MethodHandles.foldArguments(mh, compile(writers[i], beanClass));
+      }
+      return new BeanPopulator(writers, mh);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOG.debug("Failed to compile bean populator for {}: {}", beanClass, e.toString());
+      return new BeanPopulator(writers, null);
+    }
+  }
+
+  private final PropertyWriter[] writers;
+  private final MethodHandle compiled;
+
+  private BeanPopulator(PropertyWriter[] writers, MethodHandle compiled) {
+    this.writers = writers;
+    this.compiled = compiled;
+  }
+
+  /**
+   * Copies the values in the current row of the {@code ResultSet} to the specified bean.
+   *
+   * @param rs the {@code ResultSet}
+   * @param bean the bean
+   * @throws Throwable if anything goes wrong
+   */
+  public void populate(ResultSet rs, Object bean) throws Throwable {
+    if (compiled == null) {
+      for (PropertyWriter writer : writers) {
+        writer.write(rs, bean);
+      }
+    } else {
+      compiled.invokeExact(bean, rs);
+    }
+  }
+
+  /**
+   * Returns a {@code RowDecoder} that reads the raw values for the bean properties, and
+   * then writes them to a bean obtained from the specified supplier. The
+   * {@code RowDecoder} always loops over the {@code PropertyWriter} instances, even if
+   * this {@code BeanPopulator} is compiled. Returns {@code null} if any of the raw
+   * values cannot be converted once the cursor has moved on to the next row.
+   *
+   * @param <T> the type of the beans
+   * @param supplier the supplier of the beans
+   * @return a {@code RowDecoder} for the beans, or {@code null}
+   */
+  public <T> RowDecoder<T> decoder(Supplier<T> supplier) {
+    if (!Arrays.stream(writers).allMatch(PropertyWriter::isDetached)) {
+      return null;
+    }
+    return new RowDecoder<>() {
+      @Override
+      public int width() {
+        return writers.length;
+      }
+
+      @Override
+      public void read(ResultSet rs, Object[] row) throws Throwable {
+        for (int i = 0; i < writers.length; ++i) {
+          row[i] = writers[i].readRaw(rs);
+        }
+      }
+
+      @Override
+      public T decode(Object[] row) throws Throwable {
+        T bean = supplier.get();
+        for (int i = 0; i < writers.length; ++i) {
+          writers[i].writeRaw(bean, row[i]);
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Whether this {@code BeanPopulator} invokes a compiled method handle.
+   *
+   * @return whether this {@code BeanPopulator} invokes a compiled method handle
+   */
+  public boolean isCompiled() {
+    return compiled != null;
+  }
+
+  // Returns a (Object,ResultSet)void method handle for the provided PropertyWriter
+  private static MethodHandle compile(PropertyWriter writer, Class<?> beanClass)
+        throws ReflectiveOperationException {
+    MethodHandle mh = direct(writer, beanClass);
+    if (mh == null) {
+      mh = MethodHandles.lookup()
+            .findVirtual(PropertyWriter.class,
+                  "write",
+                  methodType(void.class, ResultSet.class, Object.class))
+            .bindTo(writer);
+      mh = MethodHandles.permuteArguments(mh, POPULATE, 1, 0);
+    }
+    return mh;
+  }
+
+  private static MethodHandle direct(PropertyWriter writer, Class<?> beanClass)
+        throws ReflectiveOperationException {
+    Setter setter = writer.setter();
+    Class<?> paramType = setter.getParamType();
+    MethodHandle get; // (ResultSet)columnType
+    if (writer.primitive() != null) {
+      get = writer.primitive().bind(writer.columnIndex());
+    } else if (writer.custom() != null || writer.reader().adapter() != null) {
+      return null;
+    } else {
+      get = writer.reader().method().getMethodHandle();
+      if (get == null) {
+        return null;
+      }
+      Class<?> columnType = get.type().returnType();
+      if (paramType != columnType && paramType != box(columnType)) {
+        return null;
+      }
+      get = MethodHandles.insertArguments(get, 1, writer.columnIndex());
+    }
+    Class<?> columnType = get.type().returnType();
+    Method m = findSetter(beanClass, setter.getProperty(), paramType);
+    if (m == null) {
+      return null;
+    }
+    // A public lookup does not require this module to read the module of the bean class
+    MethodHandle set = MethodHandles.publicLookup()
+          .unreflect(m)
+          .asType(methodType(void.class, Object.class, columnType));
+    // (Object,ResultSet)void
+    return MethodHandles.filterArguments(set, 1, get);
+  }
+
+  private static Method findSetter(Class<?> beanClass, String property, Class<?> type) {
+    String name = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    try {
+      Method m = beanClass.getMethod(name, type);
+      return m.getReturnType() == void.class ? m : null;
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,400 @@
+package org.klojang.jdbc.x.rs;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.klojang.jdbc.x.rs.ResultSetMethod.GET_STRING;
+
+/**
+ * A growable buffer for the values in a single column of a ResultSet. Integral,
+ * floating-point and boolean columns are stored in primitive arrays, string columns are
+ * dictionary-encoded, and all other columns are stored in an Object[] array. Whether a
+ * column can be stored in a primitive array is decided by the ColumnReaderFactory: if it
+ * has a PrimitiveReader for the SQL type of the column, the column values are read
+ * straight into a primitive array. Null values are recorded in a bitmap that is only
+ * allocated once the first null value is encountered.
+ */
+public abstract sealed class ColumnBuffer {
+
+  private static final Class<?>[] PRIMITIVES = {
+        int.class, long.class, double.class, boolean.class
+  };
+
+  /**
+   * Returns a new ColumnBuffer for the column with the specified index.
+   *
+   * @param columnIndex the column index (one-based)
+   * @param sqlType the SQL type of the column
+   * @param capacity the initial capacity of the buffer
+   * @return a new ColumnBuffer
+   */
+  public static ColumnBuffer create(int columnIndex, int sqlType, int capacity) {
+    ColumnReaderFactory factory = ColumnReaderFactory.getInstance();
+    for (Class<?> type : PRIMITIVES) {
+      PrimitiveReader reader = factory.getPrimitiveReader(type, sqlType);
+      if (reader != null) {
+        MethodHandle mh = reader.bind(columnIndex);
+        if (type == int.class) {
+          return new Ints(mh, capacity);
+        } else if (type == long.class) {
+          return new Longs(mh, capacity);
+        } else if (type == double.class) {
+          return new Doubles(mh, capacity);
+        }
+        return new Booleans(mh, capacity);
+      }
+    }
+    ResultSetMethod<?> method = ResultSetMethodLookup.getInstance().getMethod(sqlType);
+    if (method == GET_STRING) {
+      return new EncodedStrings(columnIndex, capacity);
+    }
+    return new OtherValues(method, columnIndex, capacity);
+  }
+
+  private BitSet nulls;
+
+  int size;
+
+  private ColumnBuffer() { }
+
+  /**
+   * Appends the value in the current row of the ResultSet to this buffer.
+   *
+   * @param rs the ResultSet
+   * @throws Throwable if anything goes wrong
+   */
+  public abstract void read(ResultSet rs) throws Throwable;
+
+  /**
+   * Shrinks the backing array to the number of values in the buffer.
+   */
+  public abstract void trim();
+
+  /**
+   * Returns the type of the values in this buffer: int.class, long.class, double.class,
+   * boolean.class, String.class or Object.class.
+   *
+   * @return the type of the values in this buffer
+   */
+  public abstract Class<?> type();
+
+  /**
+   * Returns the value at the specified row, or null if the value was SQL NULL.
+   *
+   * @param row the row index (zero-based)
+   * @return the value at the specified row
+   */
+  public abstract Object get(int row);
+
+  /**
+   * Returns the number of values in this buffer.
+   *
+   * @return the number of values in this buffer
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the value at the specified row was SQL NULL.
+   *
+   * @param row the row index (zero-based)
+   * @return whether the value at the specified row was SQL NULL
+   */
+  public boolean isNull(int row) {
+    return nulls != null && nulls.get(row);
+  }
+
+  /**
+   * Returns the number of SQL NULL values in this buffer.
+   *
+   * @return the number of SQL NULL values in this buffer
+   */
+  public int nullCount() {
+    return nulls == null ? 0 : nulls.cardinality();
+  }
+
+  final void checkNull(ResultSet rs) throws Throwable {
+    if (rs.wasNull()) {
+      if (nulls == null) {
+        nulls = new BitSet();
+      }
+      nulls.set(size);
+    }
+  }
+
+  static int grow(int capacity) {
+    return capacity + (capacity >> 1) + 1;
+  }
+
+  public static final class Ints extends ColumnBuffer {
+
+    private final MethodHandle reader; // (ResultSet)int
+    private int[] values;
+
+    private Ints(MethodHandle reader, int capacity) {
+      this.reader = reader;
+      this.values = new int[capacity];
+    }
+
+    @Override
+    public void read(ResultSet rs) throws Throwable {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size));
+      }
+      values[size] = (int) reader.invokeExact(rs);
+      checkNull(rs);
+      ++size;
+    }
+
+    @Override
+    public void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<?> type() {
+      return int.class;
+    }
+
+    @Override
+    public Object get(int row) {
+      return isNull(row) ? null : values[row];
+    }
+
+    public int[] values() {
+      return values;
+    }
+  }
+
+  public static final class Longs extends ColumnBuffer {
+
+    private final MethodHandle reader; // (ResultSet)long
+    private long[] values;
+
+    private Longs(MethodHandle reader, int capacity) {
+      this.reader = reader;
+      this.values = new long[capacity];
+    }
+
+    @Override
+    public void read(ResultSet rs) throws Throwable {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size));
+      }
+      values[size] = (long) reader.invokeExact(rs);
+      checkNull(rs);
+      ++size;
+    }
+
+    @Override
+    public void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<?> type() {
+      return long.class;
+    }
+
+    @Override
+    public Object get(int row) {
+      return isNull(row) ? null : values[row];
+    }
+
+    public long[] values() {
+      return values;
+    }
+  }
+
+  public static final class Doubles extends ColumnBuffer {
+
+    private final MethodHandle reader; // (ResultSet)double
+    private double[] values;
+
+    private Doubles(MethodHandle reader, int capacity) {
+      this.reader = reader;
+      this.values = new double[capacity];
+    }
+
+    @Override
+    public void read(ResultSet rs) throws Throwable {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size));
+      }
+      values[size] = (double) reader.invokeExact(rs);
+      checkNull(rs);
+      ++size;
+    }
+
+    @Override
+    public void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<?> type() {
+      return double.class;
+    }
+
+    @Override
+    public Object get(int row) {
+      return isNull(row) ? null : values[row];
+    }
+
+    public double[] values() {
+      return values;
+    }
+  }
+
+  public static final class Booleans extends ColumnBuffer {
+
+    private final MethodHandle reader; // (ResultSet)boolean
+    private boolean[] values;
+
+    private Booleans(MethodHandle reader, int capacity) {
+      this.reader = reader;
+      this.values = new boolean[capacity];
+    }
+
+    @Override
+    public void read(ResultSet rs) throws Throwable {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size));
+      }
+      values[size] = (boolean) reader.invokeExact(rs);
+      checkNull(rs);
+      ++size;
+    }
+
+    @Override
+    public void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<?> type() {
+      return boolean.class;
+    }
+
+    @Override
+    public Object get(int row) {
+      return isNull(row) ? null : values[row];
+    }
+
+    public boolean[] values() {
+      return values;
+    }
+  }
+
+  /*
+   * Dictionary-encoded strings. Each distinct string is stored just once. For each row
+   * we store the index of the string within the dictionary, or -1 for NULL.
+   */
+  public static final class EncodedStrings extends ColumnBuffer {
+
+    private final int columnIndex;
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private int[] values;
+
+    private EncodedStrings(int columnIndex, int capacity) {
+      this.columnIndex = columnIndex;
+      this.values = new int[capacity];
+    }
+
+    @Override
+    public void read(ResultSet rs) throws Throwable {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size));
+      }
+      String s = rs.getString(columnIndex);
+      if (s == null) {
+        values[size] = -1;
+        checkNull(rs);
+      } else {
+        Integer code = codes.get(s);
+        if (code == null) {
+          code = dictionary.size();
+          codes.put(s, code);
+          dictionary.add(s);
+        }
+        values[size] = code;
+      }
+      ++size;
+    }
+
+    @Override
+    public void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<?> type() {
+      return String.class;
+    }
+
+    @Override
+    public String get(int row) {
+      int code = values[row];
+      return code == -1 ? null : dictionary.get(code);
+    }
+
+    public int[] codes() {
+      return values;
+    }
+
+    public List<String> dictionary() {
+      return dictionary;
+    }
+  }
+
+  public static final class OtherValues extends ColumnBuffer {
+
+    private final ResultSetMethod<?> method;
+    private final int columnIndex;
+    private Object[] values;
+
+    private OtherValues(ResultSetMethod<?> method, int columnIndex, int capacity) {
+      this.method = method;
+      this.columnIndex = columnIndex;
+      this.values = new Object[capacity];
+    }
+
+    @Override
+    public void read(ResultSet rs) throws Throwable {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size));
+      }
+      values[size] = method.invoke(rs, columnIndex);
+      checkNull(rs);
+      ++size;
+    }
+
+    @Override
+    public void trim() {
+      values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Class<?> type() {
+      return Object.class;
+    }
+
+    @Override
+    public Object get(int row) {
+      return isNull(row) ? null : values[row];
+    }
+
+    public Object[] values() {
+      return values;
+    }
+  }
+
+}
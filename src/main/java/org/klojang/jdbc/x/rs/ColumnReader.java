@@ -38,10 +38,30 @@ public final class ColumnReader<COLUMN_TYPE, TARGET_TYPE> {
     this.adapter = adapter;
   }
 
-  @SuppressWarnings("unchecked")
+  ResultSetMethod<COLUMN_TYPE> method() { return method; }
+
+  Adapter<? super COLUMN_TYPE, TARGET_TYPE> adapter() { return adapter; }
+
   public TARGET_TYPE getValue(ResultSet rs, int columnIndex, Class<TARGET_TYPE> toType)
         throws SQLException {
-    COLUMN_TYPE val = method.invoke(rs, columnIndex);
+    return convert(read(rs, columnIndex), toType);
+  }
+
+  // Reads the raw column value, without converting it to the target type
+  COLUMN_TYPE read(ResultSet rs, int columnIndex) throws SQLException {
+    return method.invoke(rs, columnIndex);
+  }
+
+  // Whether the values returned by read() can still be converted once the cursor has
+  // moved on to the next row
+  boolean isDetached() {
+    return method.isDetached();
+  }
+
+  // Converts a raw column value to the target type. Does not touch the ResultSet, so
+  // may be called on a different thread than the one that read the value.
+  @SuppressWarnings("unchecked")
+  TARGET_TYPE convert(COLUMN_TYPE val, Class<TARGET_TYPE> toType) {
     if (adapter == null) {
       return (TARGET_TYPE) val;
     }
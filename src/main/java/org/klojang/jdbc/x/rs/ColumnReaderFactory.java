@@ -19,9 +19,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.invoke.MethodType.methodType;
 import static java.sql.Types.*;
@@ -51,7 +51,7 @@ public class ColumnReaderFactory {
   // Predefined ColumnReaders for common types
   private final Map<Class, ColumnReaderLookup<?>> predefined;
   // ColumnReaders that are created on demand
-  private final Map<Key, ColumnReader> custom = new HashMap<>();
+  private final Map<Key, ColumnReader> custom = new ConcurrentHashMap<>();
 
   @SuppressWarnings("unchecked")
   private ColumnReaderFactory() {
@@ -76,6 +76,32 @@ public class ColumnReaderFactory {
     return reader;
   }
 
+  /**
+   * Returns a {@link PrimitiveReader} for the specified combination of Java type and SQL
+   * type, or {@code null} if the target type is not a primitive type, or if the column
+   * values cannot be passed on without boxing them. Unlike
+   * {@link #getReader(Class, int) getReader()}, this method does not throw an exception
+   * if the SQL type cannot be converted to the Java type. If you already have the
+   * {@code ColumnReader} for the column, use
+   * {@link PrimitiveReader#of(ColumnReader, Class)} instead, to avoid looking it up
+   * again.
+   *
+   * @param targetType the type of the bean property or record component
+   * @param columnType the SQL type of the column
+   * @return a {@code PrimitiveReader} or {@code null}
+   */
+  public PrimitiveReader getPrimitiveReader(Class<?> targetType, int columnType) {
+    if (!targetType.isPrimitive()) {
+      return null;
+    }
+    ColumnReaderLookup<?> lookup = predefined.get(targetType);
+    if (lookup == null) {
+      return null;
+    }
+    ColumnReader<?, ?> reader = lookup.getColumnReader(columnType);
+    return reader == null ? null : PrimitiveReader.of(reader, targetType);
+  }
+
   private static Map getPredefinedColumnReaders() {
     return TypeMap.nativeTypeMapBuilder()
           .autobox(true)
@@ -149,9 +175,12 @@ public class ColumnReaderFactory {
       }
     }
     if (reader != null) {
-      custom.put(key, reader);
+      // Another thread may have beaten us to it. Make sure everyone ends up with the
+      // same instance.
+      ColumnReader prev = custom.putIfAbsent(key, reader);
+      return prev == null ? reader : prev;
     }
-    return reader;
+    return null;
   }
 
   private MethodHandle findFactoryMethod(Class forType, Class fromType) {
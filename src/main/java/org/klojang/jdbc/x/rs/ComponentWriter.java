@@ -22,27 +22,43 @@ public final class ComponentWriter<COLUMN_TYPE, COMPONENT_TYPE> {
   private final int columnIndex;
   private final Class<COMPONENT_TYPE> componentType;
   private final CustomReader custom;
+  // Only set for primitive components whose values can be read without boxing them
+  private final PrimitiveReader primitive;
 
   ComponentWriter(
         ColumnReader<COLUMN_TYPE, COMPONENT_TYPE> reader,
         String component,
         int columnIndex,
-        Class<COMPONENT_TYPE> componentType) {
+        Class<COMPONENT_TYPE> componentType,
+        PrimitiveReader primitive) {
     this.reader = reader;
     this.component = component;
     this.columnIndex = columnIndex;
     this.componentType = componentType;
     this.custom = null;
+    this.primitive = primitive;
   }
 
-  ComponentWriter(CustomReader custom, String component, int columnIndex) {
+  ComponentWriter(CustomReader custom,
+        String component,
+        int columnIndex,
+        PrimitiveReader primitive) {
     this.custom = custom;
     this.component = component;
     this.columnIndex = columnIndex;
     this.componentType = null;
     this.reader = null;
+    this.primitive = primitive;
   }
 
+  ColumnReader<COLUMN_TYPE, COMPONENT_TYPE> reader() { return reader; }
+
+  CustomReader custom() { return custom; }
+
+  int columnIndex() { return columnIndex; }
+
+  PrimitiveReader primitive() { return primitive; }
+
   @SuppressWarnings("unchecked")
   COMPONENT_TYPE readValue(ResultSet resultset) throws Throwable {
     COMPONENT_TYPE val;
@@ -55,4 +71,29 @@ public final class ComponentWriter<COLUMN_TYPE, COMPONENT_TYPE> {
     }
     return val;
   }
+
+  // Whether the value returned by readRaw() can still be converted once the cursor has
+  // moved on to the next row. Values read by a CustomReader are not converted any
+  // further, so they do not count.
+  boolean isDetached() {
+    return custom != null || reader.isDetached();
+  }
+
+  // Reads the value for the component from the ResultSet, but postpones its conversion
+  // (if any) to convert(). Values read by a CustomReader are returned as-is.
+  Object readRaw(ResultSet resultset) throws Throwable {
+    if (custom == null) {
+      return reader.read(resultset, columnIndex);
+    }
+    return custom.getValue(resultset, columnIndex);
+  }
+
+  // Converts a value obtained through readRaw() to the type of the component
+  @SuppressWarnings("unchecked")
+  Object convert(Object raw) {
+    if (custom == null) {
+      return reader.convert((COLUMN_TYPE) raw, componentType);
+    }
+    return raw;
+  }
 }
@@ -9,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
 
 
@@ -23,14 +22,14 @@ public final class KeyWriter<COLUMN_TYPE> {
 
   private static final Logger LOG = LoggerFactory.getLogger(KeyWriter.class);
 
-  public static Map<String, Object> toMap(ResultSet resultset, KeyWriter[] writers)
-        throws Throwable {
-    // Allow for some extra data to be inserted by the user
-    Map<String, Object> map = HashMap.newHashMap(writers.length + 4);
-    for (KeyWriter writer : writers) {
-      map.put(writer.key, writer.read(resultset));
+  public static Map<String, Object> toMap(ResultSet resultset,
+        KeyWriter[] writers,
+        RowMap.Keys keys) throws Throwable {
+    Object[] values = new Object[writers.length];
+    for (int i = 0; i < writers.length; ++i) {
+      values[i] = writers[i].read(resultset);
     }
-    return map;
+    return new RowMap(keys, values);
   }
 
   public static KeyWriter[] createWriters(ResultSet resultset, SessionConfig config) {
@@ -77,6 +76,8 @@ public final class KeyWriter<COLUMN_TYPE> {
     this.method = null;
   }
 
+  String key() { return key; }
+
   private Object read(ResultSet resultSet) throws SQLException {
     final Object val;
     if (customReader == null) {
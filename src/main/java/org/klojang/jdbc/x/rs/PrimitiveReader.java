@@ -0,0 +1,112 @@
+package org.klojang.jdbc.x.rs;
+
+import org.klojang.jdbc.CustomReader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Reads a column as an {@code int}, {@code long}, {@code double} or {@code boolean}
+ * without boxing it. A PrimitiveReader is the primitive counterpart of a
+ * {@link ColumnReader} or {@link CustomReader}. It is only available for primitive bean
+ * properties and record components, and only if the column value can be passed on as-is,
+ * that is: if the ColumnReader for the column calls the ResultSet.getXXX() method for
+ * the exact type of the property (e.g. getInt() for an int property), or if the
+ * CustomReader for the column is the primitive specialization for the type of the
+ * property (e.g. CustomReader.OfInt for an int property).
+ */
+public final class PrimitiveReader {
+
+  private record Specialization(Class<? extends CustomReader> readerType,
+        MethodHandle handle) { }
+
+  private static final Map<Class<?>, Specialization> SPECIALIZATIONS = Map.of(
+        int.class, specialization(CustomReader.OfInt.class, "getInt", int.class),
+        long.class, specialization(CustomReader.OfLong.class, "getLong", long.class),
+        double.class, specialization(CustomReader.OfDouble.class, "getDouble", double.class),
+        boolean.class,
+        specialization(CustomReader.OfBoolean.class, "getBoolean", boolean.class));
+
+  /**
+   * Returns a PrimitiveReader for the specified ColumnReader, or null if the values
+   * produced by the ColumnReader cannot be passed on without boxing them.
+   *
+   * @param reader the ColumnReader
+   * @param targetType the type of the bean property or record component
+   * @return a PrimitiveReader or null
+   */
+  static PrimitiveReader of(ColumnReader<?, ?> reader, Class<?> targetType) {
+    if (!SPECIALIZATIONS.containsKey(targetType) || reader.adapter() != null) {
+      return null;
+    }
+    MethodHandle mh = reader.method().getMethodHandle();
+    if (mh == null || mh.type().returnType() != targetType) {
+      return null;
+    }
+    return new PrimitiveReader(mh);
+  }
+
+  /**
+   * Returns a PrimitiveReader for the specified CustomReader, or null if the
+   * CustomReader is not the primitive specialization for the specified type.
+   *
+   * @param custom the CustomReader
+   * @param targetType the type of the bean property or record component
+   * @return a PrimitiveReader or null
+   */
+  static PrimitiveReader of(CustomReader custom, Class<?> targetType) {
+    Specialization spec = SPECIALIZATIONS.get(targetType);
+    if (spec == null || !spec.readerType().isInstance(custom)) {
+      return null;
+    }
+    return new PrimitiveReader(spec.handle().bindTo(custom));
+  }
+
+  // (ResultSet,int)int, (ResultSet,int)long, etc.
+  private final MethodHandle handle;
+
+  private PrimitiveReader(MethodHandle handle) {
+    this.handle = handle;
+  }
+
+  /**
+   * Returns the primitive type produced by this PrimitiveReader.
+   *
+   * @return the primitive type produced by this PrimitiveReader
+   */
+  Class<?> type() {
+    return handle.type().returnType();
+  }
+
+  /**
+   * Returns a (ResultSet)int, (ResultSet)long, etc. method handle that reads the column
+   * with the specified index.
+   *
+   * @param columnIndex the column index
+   * @return a method handle that reads the column with the specified index
+   */
+  MethodHandle bind(int columnIndex) {
+    return MethodHandles.insertArguments(handle, 1, columnIndex);
+  }
+
+  private static Specialization specialization(
+        Class<? extends CustomReader> readerType,
+        String method,
+        Class<?> returnType) {
+    try {
+      MethodHandle mh = MethodHandles.publicLookup().findVirtual(readerType,
+            method,
+            methodType(returnType, ResultSet.class, int.class));
+      // (CustomReader,ResultSet,int)returnType
+      mh = mh.asType(methodType(returnType, CustomReader.class, ResultSet.class, int.class));
+      return new Specialization(readerType, mh);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+}
@@ -12,7 +12,6 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.function.Supplier;
 
 import org.klojang.jdbc.CustomReader;
 import static org.klojang.util.CollectionMethods.implode;
@@ -27,17 +26,6 @@ public final class PropertyWriter<COLUMN_TYPE, FIELD_TYPE> {
 
   private static final Logger LOG = LoggerFactory.getLogger(PropertyWriter.class);
 
-  @SuppressWarnings("rawtypes")
-  public static <U> U writeAll(ResultSet rs,
-        Supplier<U> beanSupplier,
-        PropertyWriter[] writers) throws Throwable {
-    U bean = beanSupplier.get();
-    for (PropertyWriter channel : writers) {
-      channel.write(rs, bean);
-    }
-    return bean;
-  }
-
   @SuppressWarnings("rawtypes")
   public static PropertyWriter[] createWriters(
         ResultSet rs,
@@ -73,9 +61,11 @@ public final class PropertyWriter<COLUMN_TYPE, FIELD_TYPE> {
         PropertyWriter pw;
         if (customReader == null) {
           ColumnReader<?, ?> columnReader = factory.getReader(javaType, sqlType);
-          pw = new PropertyWriter<>(setter, columnIndex, columnReader);
+          PrimitiveReader primitive = PrimitiveReader.of(columnReader, javaType);
+          pw = new PropertyWriter<>(setter, columnIndex, columnReader, primitive);
         } else {
-          pw = new PropertyWriter(setter, columnIndex, customReader);
+          PrimitiveReader primitive = PrimitiveReader.of(customReader, javaType);
+          pw = new PropertyWriter(setter, columnIndex, customReader, primitive);
         }
         writers.add(pw);
       }
@@ -89,23 +79,43 @@ public final class PropertyWriter<COLUMN_TYPE, FIELD_TYPE> {
   private final int columnIndex;
   private final ColumnReader<COLUMN_TYPE, FIELD_TYPE> reader;
   private final CustomReader custom;
+  // Only set for primitive properties whose values can be read without boxing them.
+  // Only used by compiled BeanPopulators. The write() method passes the value to a
+  // Setter, which takes an Object, so it could not avoid boxing the value anyhow.
+  private final PrimitiveReader primitive;
 
   private PropertyWriter(Setter setter,
         int columnIndex,
-        ColumnReader<COLUMN_TYPE, FIELD_TYPE> reader) {
+        ColumnReader<COLUMN_TYPE, FIELD_TYPE> reader,
+        PrimitiveReader primitive) {
     this.setter = setter;
     this.columnIndex = columnIndex;
     this.reader = reader;
     this.custom = null;
+    this.primitive = primitive;
   }
 
-  private PropertyWriter(Setter setter, int columnIndex, CustomReader custom) {
+  private PropertyWriter(Setter setter,
+        int columnIndex,
+        CustomReader custom,
+        PrimitiveReader primitive) {
     this.setter = setter;
     this.columnIndex = columnIndex;
     this.custom = custom;
     this.reader = null;
+    this.primitive = primitive;
   }
 
+  Setter setter() { return setter; }
+
+  int columnIndex() { return columnIndex; }
+
+  ColumnReader<COLUMN_TYPE, FIELD_TYPE> reader() { return reader; }
+
+  CustomReader custom() { return custom; }
+
+  PrimitiveReader primitive() { return primitive; }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   public void write(ResultSet resultset, Object bean) throws Throwable {
     final Object val;
@@ -124,6 +134,36 @@ public final class PropertyWriter<COLUMN_TYPE, FIELD_TYPE> {
     setter.write(bean, val);
   }
 
+  // Whether the value returned by readRaw() can still be converted once the cursor has
+  // moved on to the next row. Values read by a CustomReader are not converted any
+  // further, so they do not count.
+  boolean isDetached() {
+    return custom != null || reader.isDetached();
+  }
+
+  // Reads the value for the property from the ResultSet, but postpones its conversion
+  // (if any) to writeRaw(). Values read by a CustomReader are returned as-is, because a
+  // CustomReader reads and converts in one go.
+  Object readRaw(ResultSet resultset) throws Throwable {
+    if (custom == null) {
+      return reader.read(resultset, columnIndex);
+    }
+    return custom.getValue(resultset, columnIndex);
+  }
+
+  // Converts a value obtained through readRaw() and writes it to the bean
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  void writeRaw(Object bean, Object raw) throws Throwable {
+    final Object val;
+    if (custom == null) {
+      Class cls = setter.getParamType();
+      val = reader.convert((COLUMN_TYPE) raw, cls);
+    } else {
+      val = raw;
+    }
+    setter.write(bean, val);
+  }
+
   private static void log(
         Class<?> beanClass,
         ResultSet resultset,
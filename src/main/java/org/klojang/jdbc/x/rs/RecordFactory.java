@@ -8,6 +8,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.RecordComponent;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -17,6 +19,7 @@ import static java.lang.invoke.MethodHandles.publicLookup;
 import static java.lang.invoke.MethodType.methodType;
 
 import org.klojang.jdbc.CustomReader;
+import static org.klojang.util.ClassMethods.box;
 import static org.klojang.util.CollectionMethods.implode;
 
 
@@ -27,22 +30,117 @@ public final class RecordFactory<T extends Record> {
 
   private static final Logger LOG = LoggerFactory.getLogger(RecordFactory.class);
 
-  private final MethodHandle constructor;
+  // (ResultSet)Object method handle that reads the column values and passes them on to
+  // the canonical constructor of the record class
+  private final MethodHandle factory;
+  // (Object[])Object method handle that passes the converted values of the
+  // ComponentWriters to the canonical constructor
+  private final MethodHandle spreader;
   private final ComponentWriter[] writers;
 
   public RecordFactory(Class<T> recordClass, ResultSet resultset, SessionConfig config) {
     WriteConfig cfg = createWriters(recordClass, resultset, config);
-    constructor = cfg.constructor();
+    try {
+      factory = compile(cfg.constructor(), cfg.writers());
+    } catch (ReflectiveOperationException e) {
+      throw new DatabaseException(e);
+    }
+    int len = cfg.writers().length;
+    spreader = cfg.constructor()
+          .asSpreader(Object[].class, len)
+          .asType(methodType(Object.class, Object[].class));
     writers = cfg.writers();
   }
 
   @SuppressWarnings("unchecked")
   public T createRecord(ResultSet rs) throws Throwable {
-    Object[] args = new Object[writers.length];
+    return (T) (Object) factory.invokeExact(rs);
+  }
+
+  /**
+   * Returns a {@code RowDecoder} that reads the raw values for the record components,
+   * and then converts them and passes them to the canonical constructor. Returns
+   * {@code null} if any of the raw values cannot be converted once the cursor has moved
+   * on to the next row.
+   *
+   * @return a {@code RowDecoder} for the records, or {@code null}
+   */
+  public RowDecoder<T> decoder() {
+    if (!Arrays.stream(writers).allMatch(ComponentWriter::isDetached)) {
+      return null;
+    }
+    return new RowDecoder<>() {
+      @Override
+      public int width() {
+        return writers.length;
+      }
+
+      @Override
+      public void read(ResultSet rs, Object[] row) throws Throwable {
+        for (int i = 0; i < writers.length; ++i) {
+          row[i] = writers[i].readRaw(rs);
+        }
+      }
+
+      @Override
+      public T decode(Object[] row) throws Throwable {
+        // Each row buffer is used by one thread at a time, so we can convert in place
+        for (int i = 0; i < writers.length; ++i) {
+          row[i] = writers[i].convert(row[i]);
+        }
+        return (T) (Object) spreader.invokeExact(row);
+      }
+    };
+  }
+
+  /*
+   * Feeds the output of the ComponentWriters directly into the constructor, without
+   * collecting them in an Object[] array first. ComponentWriters that simply call one of
+   * the ResultSet.getXXX() methods are bypassed altogether, so primitive values are not
+   * boxed and then unboxed again.
+   */
+  private static MethodHandle compile(MethodHandle constructor, ComponentWriter[] writers)
+        throws ReflectiveOperationException {
+    MethodType type = constructor.type();
+    MethodHandle[] readers = new MethodHandle[writers.length];
     for (int i = 0; i < writers.length; ++i) {
-      args[i] = writers[i].readValue(rs);
+      readers[i] = reader(writers[i], type.parameterType(i));
+    }
+    MethodHandle mh = MethodHandles.filterArguments(constructor, 0, readers);
+    // Pass the ResultSet to each and every reader
+    mh = MethodHandles.permuteArguments(mh,
+          methodType(type.returnType(), ResultSet.class),
+          new int[writers.length]);
+    return mh.asType(methodType(Object.class, ResultSet.class));
+  }
+
+  // Returns a (ResultSet)componentType method handle
+  private static MethodHandle reader(ComponentWriter writer, Class<?> componentType)
+        throws ReflectiveOperationException {
+    MethodType type = methodType(componentType, ResultSet.class);
+    // If trace logging is enabled, we leave it to the ComponentWriter to read (and log)
+    // the value
+    if (!LOG.isTraceEnabled()) {
+      if (writer.primitive() != null) {
+        return writer.primitive().bind(writer.columnIndex());
+      }
+      if (writer.custom() == null && writer.reader().adapter() == null) {
+        MethodHandle get = writer.reader().method().getMethodHandle();
+        if (get != null) {
+          Class<?> columnType = get.type().returnType();
+          if (componentType == columnType || componentType == box(columnType)) {
+            get = MethodHandles.insertArguments(get, 1, writer.columnIndex());
+            return get.asType(type);
+          }
+        }
+      }
     }
-    return (T) constructor.invokeWithArguments(args);
+    return MethodHandles.lookup()
+          .findVirtual(ComponentWriter.class,
+                "readValue",
+                methodType(Object.class, ResultSet.class))
+          .bindTo(writer)
+          .asType(type);
   }
 
   private static <T extends Record> WriteConfig createWriters(
@@ -80,9 +178,11 @@ public final class RecordFactory<T extends Record> {
         ComponentWriter writer;
         if (customReader == null) {
           ColumnReader reader = factory.getReader(type, sqlType);
-          writer = new ComponentWriter(reader, componentName, jdbcIdx, type);
+          PrimitiveReader primitive = PrimitiveReader.of(reader, type);
+          writer = new ComponentWriter(reader, componentName, jdbcIdx, type, primitive);
         } else {
-          writer = new ComponentWriter(customReader, componentName, jdbcIdx);
+          PrimitiveReader primitive = PrimitiveReader.of(customReader, type);
+          writer = new ComponentWriter(customReader, componentName, jdbcIdx, primitive);
         }
         paramTypes.add(type);
         writers.add(writer);
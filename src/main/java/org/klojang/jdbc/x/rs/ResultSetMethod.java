@@ -1,9 +1,17 @@
 package org.klojang.jdbc.x.rs;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.sql.*;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Map.entry;
 
 /*
  * Represents one of the get methods of ResultSet, like ResultSet.getString(columnIndex)
@@ -64,8 +72,23 @@ public abstract sealed class ResultSetMethod<COLUMN_TYPE> {
     T invoke(ResultSet rs, int columnIndex) throws SQLException {
       return rs.getObject(columnIndex, returnType);
     }
+
+    @Override
+    boolean isDetached() {
+      return LOCATOR_TYPES.stream().noneMatch(c -> c.isAssignableFrom(returnType));
+    }
   }
 
+  // Types whose instances may still depend on the current row of the ResultSet (or on
+  // the ResultSet as a whole) after they have been retrieved from it
+  private static final List<Class<?>> LOCATOR_TYPES = List.of(Blob.class,
+        Clob.class,
+        Array.class,
+        SQLXML.class,
+        Ref.class,
+        InputStream.class,
+        Reader.class);
+
   public static final ResultSetMethod<String> GET_STRING = new GetString();
   public static final ResultSetMethod<Integer> GET_INT = new GetInt();
   public static final ResultSetMethod<Float> GET_FLOAT = new GetFloat();
@@ -80,8 +103,26 @@ public abstract sealed class ResultSetMethod<COLUMN_TYPE> {
   public static final ResultSetMethod<BigDecimal> GET_BIG_DECIMAL = new GetBD();
   public static final ResultSetMethod<byte[]> GET_BYTES = new GetBytes();
 
+  // Method handles for the ResultSet methods encapsulated by the above constants
+  @SuppressWarnings("rawtypes")
+  private static final Map<ResultSetMethod, MethodHandle> handles = Map.ofEntries(
+        entry(GET_STRING, handle("getString", String.class)),
+        entry(GET_INT, handle("getInt", int.class)),
+        entry(GET_FLOAT, handle("getFloat", float.class)),
+        entry(GET_DOUBLE, handle("getDouble", double.class)),
+        entry(GET_LONG, handle("getLong", long.class)),
+        entry(GET_SHORT, handle("getShort", short.class)),
+        entry(GET_BYTE, handle("getByte", byte.class)),
+        entry(GET_BOOLEAN, handle("getBoolean", boolean.class)),
+        entry(GET_DATE, handle("getDate", Date.class)),
+        entry(GET_TIME, handle("getTime", Time.class)),
+        entry(GET_TIMESTAMP, handle("getTimestamp", Timestamp.class)),
+        entry(GET_BIG_DECIMAL, handle("getBigDecimal", BigDecimal.class)),
+        entry(GET_BYTES, handle("getBytes", byte[].class)));
+
   @SuppressWarnings("rawtypes")
-  private static final Map<Class, ResultSetMethod> objectGetters = new HashMap<>();
+  private static final Map<Class, ResultSetMethod> objectGetters
+        = new ConcurrentHashMap<>();
 
   @SuppressWarnings({"unchecked", "rawtypes"})
   public static <T> ResultSetMethod<T> getObjectGetter(Class<T> returnType) {
@@ -90,4 +131,34 @@ public abstract sealed class ResultSetMethod<COLUMN_TYPE> {
 
   abstract COLUMN_TYPE invoke(ResultSet rs, int columnIndex) throws SQLException;
 
+  /*
+   * Whether the values returned by this method are fully materialized, meaning they can
+   * still be used once the cursor has moved past the row they came from. That is the
+   * case for all getXXX() methods encapsulated by the constants in this class. LOB
+   * columns, for example, are read using getString() or getBytes(), not getClob() or
+   * getBlob().
+   */
+  boolean isDetached() {
+    return true;
+  }
+
+  /*
+   * Returns a (ResultSet,int)COLUMN_TYPE method handle for the ResultSet method
+   * encapsulated by this instance, or null if this instance encapsulates
+   * ResultSet.getObject(int, Class). Note that the method handle returns a primitive
+   * type if the ResultSet method returns a primitive type.
+   */
+  MethodHandle getMethodHandle() {
+    return handles.get(this);
+  }
+
+  private static MethodHandle handle(String name, Class<?> returnType) {
+    try {
+      return MethodHandles.lookup()
+            .findVirtual(ResultSet.class, name, methodType(returnType, int.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
 }
@@ -0,0 +1,42 @@
+package org.klojang.jdbc.x.rs;
+
+import java.sql.ResultSet;
+
+/**
+ * Converts a {@code ResultSet} row into an object in two separate steps: reading the raw
+ * column values, and converting them into the object. Only the first step touches the
+ * {@code ResultSet}. The second step may therefore be carried out by another thread.
+ *
+ * @param <T> the type of the objects produced by the {@code RowDecoder}
+ * @see RowPipeline
+ */
+public interface RowDecoder<T> {
+
+  /**
+   * Returns the number of values read from each row.
+   *
+   * @return the number of values read from each row
+   */
+  int width();
+
+  /**
+   * Copies the raw values in the current row of the {@code ResultSet} into the specified
+   * array.
+   *
+   * @param rs the {@code ResultSet}
+   * @param row an array with a length of at least {@link #width()}
+   * @throws Throwable if anything goes wrong
+   */
+  void read(ResultSet rs, Object[] row) throws Throwable;
+
+  /**
+   * Converts the raw values produced by {@link #read(ResultSet, Object[]) read()} into an
+   * object.
+   *
+   * @param row the raw values
+   * @return the object
+   * @throws Throwable if anything goes wrong
+   */
+  T decode(Object[] row) throws Throwable;
+
+}
@@ -0,0 +1,239 @@
+package org.klojang.jdbc.x.rs;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact {@code Map<String, Object>} for a single row in a {@code ResultSet}. All
+ * rows of a {@code ResultSet} share the same {@link Keys} instance, which maps the keys
+ * to indices in an {@code Object[]} array. Each row only has its own values array. Values
+ * of existing keys can be changed in place. Once a key is added or removed, the row is
+ * copied to a regular {@link LinkedHashMap} and from then on behaves like one
+ * (copy-on-write). A {@code RowMap} is serialized as a {@link LinkedHashMap}, so the
+ * shared keys are not serialized along with each and every row, and so the rows can be
+ * deserialized without <i>Klojang JDBC</i> being on the class path.
+ */
+public final class RowMap extends AbstractMap<String, Object> implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The keys of a {@code RowMap}, shared by all rows of the same {@code ResultSet}.
+   */
+  public static final class Keys {
+
+    /**
+     * Creates the keys for the maps produced by the specified {@code KeyWriter}
+     * instances. If two columns map to the same key, the rightmost column wins, as would
+     * have been the case had the values been put into a {@code HashMap} one by one.
+     *
+     * @param writers the {@code KeyWriter} instances
+     * @return the keys for the maps produced by the {@code KeyWriter} instances
+     */
+    @SuppressWarnings("rawtypes")
+    public static Keys of(KeyWriter[] writers) {
+      Map<String, Integer> index = LinkedHashMap.newLinkedHashMap(writers.length);
+      for (int i = 0; i < writers.length; ++i) {
+        index.put(writers[i].key(), i);
+      }
+      return new Keys(index);
+    }
+
+    private final String[] names;
+    private final int[] slots;
+    private final Map<String, Integer> index;
+
+    private Keys(Map<String, Integer> index) {
+      this.index = HashMap.newHashMap(index.size());
+      this.index.putAll(index);
+      this.names = index.keySet().toArray(String[]::new);
+      this.slots = index.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  // Transient, because a RowMap is serialized as a LinkedHashMap (see writeReplace())
+  private final transient Keys keys;
+  private final transient Object[] values;
+
+  // Non-null once a key has been added or removed
+  private transient Map<String, Object> copy;
+
+  /**
+   * Creates a new {@code RowMap}.
+   *
+   * @param keys the shared keys
+   * @param values the values, in column order
+   */
+  public RowMap(Keys keys, Object[] values) {
+    this.keys = keys;
+    this.values = values;
+  }
+
+  @Override
+  public int size() {
+    return copy == null ? keys.names.length : copy.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return copy == null ? keys.index.containsKey(key) : copy.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (copy == null) {
+      Integer slot = keys.index.get(key);
+      return slot == null ? null : values[slot];
+    }
+    return copy.get(key);
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    if (copy == null) {
+      Integer slot = keys.index.get(key);
+      if (slot != null) {
+        Object prev = values[slot];
+        values[slot] = value;
+        return prev;
+      }
+      copy();
+    }
+    return copy.put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if (copy == null) {
+      if (!keys.index.containsKey(key)) {
+        return null;
+      }
+      copy();
+    }
+    return copy.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    if (copy == null) {
+      copy = new LinkedHashMap<>();
+    } else {
+      copy.clear();
+    }
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return copy == null ? new EntrySet() : copy.entrySet();
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return new LinkedHashMap<>(this);
+  }
+
+  private void copy() {
+    Map<String, Object> map = LinkedHashMap.newLinkedHashMap(keys.names.length + 4);
+    for (int i = 0; i < keys.names.length; ++i) {
+      map.put(keys.names[i], values[keys.slots[i]]);
+    }
+    copy = map;
+  }
+
+  /*
+   * Entry set for a RowMap that has not been copied yet. Entries are views on the
+   * RowMap: they read and write through the RowMap itself, so they remain valid even if
+   * the RowMap gets copied halfway an iteration (through Iterator.remove()).
+   */
+  private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+    @Override
+    public int size() {
+      return RowMap.this.size();
+    }
+
+    @Override
+    public Iterator<Entry<String, Object>> iterator() {
+      return new Iterator<>() {
+
+        private int next;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+          return next < keys.names.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+          if (next == keys.names.length) {
+            throw new NoSuchElementException();
+          }
+          canRemove = true;
+          return new RowEntry(keys.names[next++]);
+        }
+
+        @Override
+        public void remove() {
+          if (!canRemove) {
+            throw new IllegalStateException();
+          }
+          canRemove = false;
+          RowMap.this.remove(keys.names[next - 1]);
+        }
+      };
+    }
+  }
+
+  private final class RowEntry implements Entry<String, Object> {
+
+    private final String key;
+
+    RowEntry(String key) {
+      this.key = key;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public Object getValue() {
+      return get(key);
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      return put(key, value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Entry<?, ?> e
+            && key.equals(e.getKey())
+            && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+package org.klojang.jdbc.x.rs;
+
+import org.klojang.check.Check;
+import org.klojang.jdbc.x.Utils;
+
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.klojang.check.CommonChecks.gt;
+
+/**
+ * <p>Converts the rows in a {@code ResultSet} using multiple threads. The calling thread
+ * reads the raw column values (see {@link RowDecoder}) into row buffers, which are
+ * handed out in batches to worker threads that convert them into objects. The results
+ * are collected in the same order as the rows in the {@code ResultSet}. The
+ * {@code ResultSet} itself is only ever accessed by the calling thread.
+ *
+ * <p>The row buffers are recycled. There are just {@code parallelism + 1} batches of
+ * them, so if the workers cannot keep up, the calling thread waits for a batch to become
+ * available again, rather than reading ahead indefinitely. The workers are virtual
+ * threads, created by an executor that is shared by all {@code RowPipeline} instances.
+ *
+ * <p>The raw values must remain valid once the cursor has moved past the row they came
+ * from. They are, as long as they are read through one of the {@code ResultSet.getXXX()}
+ * methods that return a plain value (see {@link ColumnReader}). A {@code RowDecoder}
+ * reading a {@link java.sql.Blob}, {@link java.sql.Clob} or stream, and converting it
+ * on the worker thread, must not be used with a {@code RowPipeline}. The
+ * {@code BeanPopulator} and {@code RecordFactory} classes do not hand out such a
+ * {@code RowDecoder}.
+ *
+ * @param <T> the type of the objects produced by the pipeline
+ */
+public final class RowPipeline<T> {
+
+  /**
+   * The number of rows handed out to a worker thread at a time.
+   */
+  public static final int BATCH_SIZE = 256;
+
+  // Virtual threads do not need pooling, and do not keep the JVM alive, so there is no
+  // need to ever shut down the executor
+  private static final ExecutorService WORKERS
+        = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final RowDecoder<T> decoder;
+  private final int parallelism;
+
+  /**
+   * Creates a new {@code RowPipeline}.
+   *
+   * @param decoder the {@code RowDecoder} that reads and converts the rows
+   * @param parallelism the number of batches that may be converted while the calling
+   *       thread reads the next one
+   */
+  public RowPipeline(RowDecoder<T> decoder, int parallelism) {
+    Check.that(parallelism).is(gt(), 1);
+    this.decoder = decoder;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Converts the remaining rows in the {@code ResultSet} and adds the results to the
+   * specified collection.
+   *
+   * @param rs the {@code ResultSet}
+   * @param out the collection to add the results to
+   * @throws Throwable if anything goes wrong while reading or converting the rows
+   */
+  public void drainInto(ResultSet rs, Collection<? super T> out) throws Throwable {
+    BlockingQueue<Object[][]> free = new ArrayBlockingQueue<>(parallelism + 1);
+    for (int i = 0; i <= parallelism; ++i) {
+      free.add(new Object[BATCH_SIZE][decoder.width()]);
+    }
+    Deque<Future<Object[]>> pending = new ArrayDeque<>();
+    try {
+      boolean more = true;
+      while (more) {
+        Object[][] batch = free.take();
+        int size = 0;
+        while (size < BATCH_SIZE && (more = rs.next())) {
+          decoder.read(rs, batch[size++]);
+        }
+        if (size == 0) {
+          free.add(batch);
+        } else {
+          int rows = size;
+          pending.add(WORKERS.submit(() -> decode(batch, rows, free)));
+        }
+        // Hand over whatever is finished already, so it can be garbage-collected as
+        // soon as the caller is done with it
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+          collect(pending.pollFirst(), out);
+        }
+      }
+      while (!pending.isEmpty()) {
+        collect(pending.pollFirst(), out);
+      }
+    } finally {
+      // Only non-empty if something went wrong. Don't let the remaining batches be
+      // converted for nothing.
+      pending.forEach(f -> f.cancel(true));
+    }
+  }
+
+  private Object[] decode(Object[][] batch, int rows, BlockingQueue<Object[][]> free) {
+    try {
+      Object[] result = new Object[rows];
+      for (int i = 0; i < rows; ++i) {
+        result[i] = decoder.decode(batch[i]);
+        Arrays.fill(batch[i], null);
+      }
+      return result;
+    } catch (Throwable t) {
+      throw Utils.wrap(t);
+    } finally {
+      free.add(batch);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void collect(Future<Object[]> future, Collection<? super T> out)
+        throws Throwable {
+    try {
+      for (Object obj : future.get()) {
+        out.add((T) obj);
+      }
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
+}
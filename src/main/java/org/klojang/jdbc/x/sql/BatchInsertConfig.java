@@ -2,16 +2,28 @@ package org.klojang.jdbc.x.sql;
 
 import org.klojang.invoke.BeanReader;
 import org.klojang.jdbc.BeanValueProcessor;
+import org.klojang.jdbc.BulkLoader;
 import org.klojang.templates.NameMapper;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 
+// Either connection or dataSource is null. The parallelism is only relevant when
+// inserting through a DataSource. The bulkLoader is null unless one was specified. The
+// dialect and keys are null unless the config is for a batch upsert.
 public record BatchInsertConfig<T>(
       Connection connection,
+      DataSource dataSource,
+      int parallelism,
       BeanReader<T> reader,
       BeanValueProcessor<T> processor,
       NameMapper mapper,
       String tableName,
       int chunkSize,
-      boolean commitPerChunk
+      boolean commitPerChunk,
+      boolean parameterized,
+      boolean pipelined,
+      BulkLoader bulkLoader,
+      UpsertDialect dialect,
+      String[] keys
 ) { }
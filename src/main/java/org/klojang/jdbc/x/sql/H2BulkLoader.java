@@ -0,0 +1,141 @@
+package org.klojang.jdbc.x.sql;
+
+import org.klojang.jdbc.BulkLoader;
+import org.klojang.jdbc.x.Err;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.List;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneId.systemDefault;
+import static java.time.ZoneOffset.UTC;
+import static org.klojang.jdbc.x.Msg.EXECUTING_SQL;
+
+/**
+ * Bulk-loads rows into an H2 table via a temporary CSV file and H2's CSVREAD function.
+ * {@code null} values are written as unquoted empty fields, which CSVREAD reads as SQL
+ * NULL. All other values are written as quoted fields, so empty strings survive the
+ * round trip. H2 converts the fields to the types of the target columns. Date/time
+ * values are therefore written in ISO-8601 format, and {@link java.util.Date} values
+ * (other than their {@code java.sql} subclasses) are interpreted in the default time
+ * zone, just like {@link java.sql.PreparedStatement#setTimestamp(int, Timestamp)
+ * PreparedStatement.setTimestamp()} would. Values of any other type than strings,
+ * numbers, booleans, characters, enums, UUIDs and date/time values are rejected. This
+ * includes {@code byte[]} values, since H2 does not read them back from text
+ * unambiguously.
+ */
+public final class H2BulkLoader implements BulkLoader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(H2BulkLoader.class);
+
+  public static final H2BulkLoader INSTANCE = new H2BulkLoader();
+
+  private H2BulkLoader() { }
+
+  @Override
+  public boolean isSupported(Connection con) throws SQLException {
+    return "H2".equals(con.getMetaData().getDatabaseProductName());
+  }
+
+  @Override
+  public long load(Connection con,
+        String tableName,
+        List<String> columns,
+        List<Object[]> rows) throws SQLException, IOException {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    Path file = Files.createTempFile("klojang-jdbc-", ".csv");
+    try {
+      write(file, rows);
+      try (Statement stmt = con.createStatement()) {
+        String sql = getSQL(stmt, file, tableName, columns);
+        LOG.trace(EXECUTING_SQL, sql);
+        return stmt.executeLargeUpdate(sql);
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void write(Path file, List<Object[]> rows) throws IOException {
+    try (BufferedWriter out = Files.newBufferedWriter(file, UTF_8)) {
+      for (Object[] row : rows) {
+        for (int i = 0; i < row.length; ++i) {
+          if (i > 0) {
+            out.write(',');
+          }
+          if (row[i] != null) {
+            out.write('"');
+            out.write(toText(row[i]).replace("\"", "\"\""));
+            out.write('"');
+          }
+        }
+        out.write('\n');
+      }
+    }
+  }
+
+  private static String toText(Object value) {
+    return switch (value) {
+      case CharSequence x -> x.toString();
+      case Number x -> x.toString();
+      case Boolean x -> x.toString();
+      case Character x -> x.toString();
+      case Enum<?> x -> x.toString();
+      case UUID x -> x.toString();
+      case LocalDate x -> x.toString();
+      case LocalTime x -> x.toString();
+      case LocalDateTime x -> x.toString();
+      case OffsetDateTime x -> x.toString();
+      case OffsetTime x -> x.toString();
+      // ZonedDateTime.toString() appends the zone ID in square brackets
+      case ZonedDateTime x -> x.toOffsetDateTime().toString();
+      case Instant x -> x.atOffset(UTC).toString();
+      // The java.sql types print themselves in JDBC escape format, which H2 understands
+      case java.sql.Date x -> x.toString();
+      case Time x -> x.toString();
+      case Timestamp x -> x.toString();
+      case java.util.Date x -> LocalDateTime.ofInstant(x.toInstant(), systemDefault())
+            .toString();
+      default -> throw Err.notBulkLoadable(value);
+    };
+  }
+
+  // INSERT INTO table(A,B) SELECT * FROM CSVREAD('/tmp/file.csv','C1,C2','charset=UTF-8')
+  // We pass our own column names to CSVREAD, so it won't treat the first line as a header
+  private static String getSQL(Statement stmt,
+        Path file,
+        String tableName,
+        List<String> columns) throws SQLException {
+    StringBuilder sb = new StringBuilder(100 + columns.size() * 20);
+    sb.append("INSERT INTO ")
+          .append(tableName)
+          .append('(')
+          .append(String.join(",", columns))
+          .append(")SELECT * FROM CSVREAD(")
+          .append(stmt.enquoteLiteral(file.toAbsolutePath().toString()))
+          .append(",'");
+    for (int i = 0; i < columns.size(); ++i) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('C').append(i + 1);
+    }
+    sb.append("','charset=UTF-8')");
+    return sb.toString();
+  }
+
+}
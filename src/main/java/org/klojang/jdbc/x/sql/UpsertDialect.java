@@ -0,0 +1,149 @@
+package org.klojang.jdbc.x.sql;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates the database-specific parts of a multi-row upsert statement. The statement
+ * consists of a head, followed by the rows to be saved
+ * ({@code (1,'John'),(2,'Mary'),...}), followed by a tail.
+ */
+public enum UpsertDialect {
+
+  // MERGE INTO T(A,B)KEY(A)VALUES(...),(...)
+  H2 {
+    @Override
+    public String head(String table, List<String> cols, List<String> keys) {
+      return "MERGE INTO " + table + '(' + String.join(",", cols) + ")KEY("
+            + String.join(",", keys) + ")VALUES";
+    }
+
+    @Override
+    public String tail(List<String> cols, List<String> keys) {
+      return "";
+    }
+  },
+
+  // INSERT INTO T(A,B)VALUES(...),(...) ON CONFLICT(A) DO UPDATE SET B=EXCLUDED.B
+  POSTGRESQL {
+    @Override
+    public String tail(List<String> cols, List<String> keys) {
+      StringBuilder sb = new StringBuilder(50 + cols.size() * 30);
+      sb.append(" ON CONFLICT(").append(String.join(",", keys)).append(')');
+      int i = 0;
+      for (String col : cols) {
+        if (!keys.contains(col)) {
+          sb.append(i++ == 0 ? " DO UPDATE SET " : ",");
+          sb.append(col).append("=EXCLUDED.").append(col);
+        }
+      }
+      if (i == 0) {
+        sb.append(" DO NOTHING");
+      }
+      return sb.toString();
+    }
+  },
+
+  // INSERT INTO T(A,B)VALUES(...),(...) AS EXCLUDED ON DUPLICATE KEY UPDATE B=EXCLUDED.B
+  // Requires MySQL 8.0.19 or later
+  MYSQL {
+    @Override
+    public String tail(List<String> cols, List<String> keys) {
+      return onDuplicateKey(" AS EXCLUDED ON DUPLICATE KEY UPDATE ",
+            cols,
+            keys,
+            "=EXCLUDED.",
+            "");
+    }
+  },
+
+  // INSERT INTO T(A,B)VALUES(...),(...) ON DUPLICATE KEY UPDATE B=VALUES(B)
+  // For MariaDB and MySQL versions before 8.0.19. Deprecated in MySQL since 8.0.20.
+  MYSQL_LEGACY {
+    @Override
+    public String tail(List<String> cols, List<String> keys) {
+      return onDuplicateKey(" ON DUPLICATE KEY UPDATE ", cols, keys, "=VALUES(", ")");
+    }
+  };
+
+  private static String onDuplicateKey(String prefix,
+        List<String> cols,
+        List<String> keys,
+        String assign,
+        String suffix) {
+    StringBuilder sb = new StringBuilder(50 + cols.size() * 30);
+    sb.append(prefix);
+    int i = 0;
+    for (String col : cols) {
+      if (!keys.contains(col)) {
+        if (i++ > 0) {
+          sb.append(',');
+        }
+        sb.append(col).append(assign).append(col).append(suffix);
+      }
+    }
+    if (i == 0) {
+      // Turn the upsert into an insert-if-absent
+      String key = keys.getFirst();
+      sb.append(key).append('=').append(key);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the dialect for the specified database, or {@code null} if the database is
+   * not supported.
+   *
+   * @param productName the database product name, as reported by
+   *       {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+   * @param productVersion the database product version, as reported by
+   *       {@link java.sql.DatabaseMetaData#getDatabaseProductVersion()}
+   * @return the dialect for the database, or {@code null}
+   */
+  public static UpsertDialect forDatabase(String productName, String productVersion) {
+    return switch (productName) {
+      case "H2" -> H2;
+      case "PostgreSQL" -> POSTGRESQL;
+      case "MySQL" -> supportsRowAlias(productVersion) ? MYSQL : MYSQL_LEGACY;
+      case "MariaDB" -> MYSQL_LEGACY;
+      default -> null;
+    };
+  }
+
+  /**
+   * Returns the part of the statement preceding the rows.
+   *
+   * @param table the table name
+   * @param cols the column names
+   * @param keys the names of the key columns
+   * @return the part of the statement preceding the rows
+   */
+  public String head(String table, List<String> cols, List<String> keys) {
+    return "INSERT INTO " + table + '(' + String.join(",", cols) + ")VALUES";
+  }
+
+  /**
+   * Returns the part of the statement following the rows.
+   *
+   * @param cols the column names
+   * @param keys the names of the key columns
+   * @return the part of the statement following the rows
+   */
+  public abstract String tail(List<String> cols, List<String> keys);
+
+  // Whether the MySQL version is 8.0.19 or later. When accessed through MySQL
+  // Connector/J, MariaDB reports itself as MySQL, with a version like
+  // "5.5.5-10.6.12-MariaDB", so it, too, gets the legacy syntax.
+  private static boolean supportsRowAlias(String version) {
+    int[] v = new int[3];
+    String[] parts = version.split("[^0-9]", 4);
+    for (int i = 0; i < 3 && i < parts.length; ++i) {
+      if (parts[i].isEmpty()) {
+        break;
+      }
+      v[i] = Integer.parseInt(parts[i]);
+    }
+    return Arrays.compare(v, new int[] {8, 0, 19}) >= 0;
+  }
+
+}
@@ -1,5 +1,6 @@
 package org.klojang.jdbc;
 
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,17 +8,35 @@ import org.klojang.check.aux.Result;
 import org.klojang.convert.Morph;
 import org.klojang.util.IOMethods;
 
+import javax.sql.DataSource;
 import java.io.IOException;
+import java.lang.reflect.Proxy;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 //@Disabled
 public class BatchInsertTest {
@@ -50,6 +69,18 @@ public class BatchInsertTest {
     }
   }
 
+  public enum Color {RED, GREEN}
+
+  public record Paint(String name, Color color) { }
+
+  public record Event(String name,
+        LocalDate day,
+        LocalDateTime start,
+        Date created,
+        Color color) { }
+
+  public record Chunk(byte[] data) { }
+
   public BatchInsertTest() { }
 
   @BeforeEach
@@ -113,6 +144,29 @@ public class BatchInsertTest {
     }
   }
 
+  @Test
+  public void insertAllAndGetIDs01() {
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .withChunkSize(2)
+          .prepare(MY_CON.get());
+    long[] ids = insert.insertBatchAndGetIDs(List.of(new Person("John"),
+          new Person("Mark"),
+          new Person("Edward"),
+          new Person("Jane"),
+          new Person("Mary")));
+    assertEquals(5, ids.length);
+    try (SQLQuery query = SQL.simple("SELECT ID FROM TEST ORDER BY ID")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      long[] actual = Morph.convert(query.firstColumn(), long[].class);
+      assertArrayEquals(ids, actual);
+    }
+  }
+
   @Test
   public void insertAllAndSetIDs00() {
     List<Person> persons = List.of(new Person("John"),
@@ -134,4 +188,327 @@ public class BatchInsertTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void parameterized00() {
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .withChunkSize(2)
+          .withParameterizedValues(true)
+          .prepare(MY_CON.get());
+    long[] ids = insert.insertBatchAndGetIDs(List.of(new Person("John"),
+          new Person("O'Reilly"),
+          new Person(null),
+          new Person("Jane"),
+          new Person("Mary")));
+    assertEquals(5, ids.length);
+    try (SQLQuery query = SQL.simple("SELECT ID FROM TEST ORDER BY ID")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      long[] actual = Morph.convert(query.firstColumn(), long[].class);
+      assertArrayEquals(ids, actual);
+    }
+    try (SQLQuery query = SQL.simple("SELECT NAME FROM TEST ORDER BY ID")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      List<String> names = query.firstColumn();
+      assertEquals(Arrays.asList("John", "O'Reilly", null, "Jane", "Mary"), names);
+    }
+    // Enums must be saved the same way as in literal mode
+    String sql = "CREATE LOCAL TEMPORARY TABLE PAINT(NAME VARCHAR(255), COLOR VARCHAR(16))";
+    SQL.staticSQL(sql).session(MY_CON.get()).execute();
+    for (boolean parameterized : new boolean[] {false, true}) {
+      SQL.insertBatch()
+            .of(Paint.class)
+            .into("PAINT")
+            .withParameterizedValues(parameterized)
+            .prepare(MY_CON.get())
+            .insertBatch(List.of(new Paint("P" + parameterized, Color.GREEN)));
+    }
+    try (SQLQuery query = SQL.simple("SELECT COLOR FROM PAINT")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(List.of("GREEN", "GREEN"), query.firstColumn());
+    }
+  }
+
+  @Test
+  public void parameterized01() {
+    // Without a chunk size, the batch must be spread across statements with at most
+    // DEFAULT_MAX_PARAMETERS parameters each
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .withParameterizedValues(true)
+          .prepare(MY_CON.get());
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < BatchInsert.DEFAULT_MAX_PARAMETERS * 2 + 500; ++i) {
+      persons.add(new Person("P" + i));
+    }
+    long[] ids = insert.insertBatchAndGetIDs(persons);
+    assertEquals(persons.size(), ids.length);
+    try (SQLQuery query = SQL.simple("SELECT COUNT(*) FROM TEST")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(Result.of(persons.size()), query.getInt());
+    }
+  }
+
+  @Test
+  public void parallel00() throws SQLException {
+    String sql = "CREATE TABLE PARALLEL(ID INT AUTO_INCREMENT, NAME VARCHAR(255))";
+    try (Statement stmt = MY_CON.get().createStatement()) {
+      stmt.executeUpdate(sql);
+    }
+    JdbcDataSource ds = new JdbcDataSource();
+    ds.setURL("jdbc:h2:" + DB_DIR + "/test");
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("PARALLEL")
+          .excluding("id")
+          .withChunkSize(3)
+          .prepare(ds, 4);
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      persons.add(new Person("P" + i));
+    }
+    long[] ids = insert.insertBatchAndGetIDs(persons);
+    assertEquals(20, ids.length);
+    Map<Long, String> names = new HashMap<>();
+    try (Statement stmt = MY_CON.get().createStatement()) {
+      ResultSet rs = stmt.executeQuery("SELECT ID, NAME FROM PARALLEL");
+      while (rs.next()) {
+        names.put(rs.getLong(1), rs.getString(2));
+      }
+    }
+    assertEquals(20, names.size());
+    for (int i = 0; i < ids.length; ++i) {
+      assertEquals("P" + i, names.get(ids[i]));
+    }
+  }
+
+  @Test
+  public void parallel01() throws SQLException {
+    String sql = "CREATE TABLE PARALLEL(ID INT AUTO_INCREMENT, NAME VARCHAR(255))";
+    try (Statement stmt = MY_CON.get().createStatement()) {
+      stmt.executeUpdate(sql);
+    }
+    JdbcDataSource ds = new JdbcDataSource();
+    ds.setURL("jdbc:h2:" + DB_DIR + "/test");
+    // Hands out connections only once all workers have asked for one, so every worker
+    // must have been given a chunk of its own
+    CountDownLatch latch = new CountDownLatch(4);
+    DataSource counting = (DataSource) Proxy.newProxyInstance(
+          getClass().getClassLoader(),
+          new Class[] {DataSource.class},
+          (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+              latch.countDown();
+              latch.await(10, TimeUnit.SECONDS);
+            }
+            return method.invoke(ds, args);
+          });
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("PARALLEL")
+          .excluding("id")
+          .prepare(counting, 4);
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      persons.add(new Person("P" + i));
+    }
+    insert.insertBatch(persons);
+    assertEquals(0, latch.getCount());
+    try (SQLQuery query = SQL.simple("SELECT COUNT(*) FROM PARALLEL")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(Result.of(10), query.getInt());
+    }
+  }
+
+  @Test
+  public void parallel02() throws SQLException {
+    String sql = "CREATE TABLE PARALLEL(ID INT AUTO_INCREMENT, NAME VARCHAR(255))";
+    try (Statement stmt = MY_CON.get().createStatement()) {
+      stmt.executeUpdate(sql);
+    }
+    JdbcDataSource ds = new JdbcDataSource();
+    ds.setURL("jdbc:h2:" + DB_DIR + "/test");
+    // The third request for a connection fails
+    AtomicInteger requests = new AtomicInteger();
+    DataSource failing = (DataSource) Proxy.newProxyInstance(
+          getClass().getClassLoader(),
+          new Class[] {DataSource.class},
+          (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")
+                  && requests.incrementAndGet() == 3) {
+              throw new SQLException("no more connections");
+            }
+            return method.invoke(ds, args);
+          });
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("PARALLEL")
+          .excluding("id")
+          .withChunkSize(3)
+          .prepare(failing, 4);
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < 20; ++i) {
+      persons.add(new Person("P" + i));
+    }
+    DatabaseException exc = assertThrows(DatabaseException.class,
+          () -> insert.insertBatch(persons));
+    String prefix = "batch insert failed. Committed chunks: ";
+    assertTrue(exc.getMessage().startsWith(prefix));
+    // Exactly the chunks reported as committed must have been saved
+    String list = exc.getMessage().substring(prefix.length());
+    list = list.substring(1, list.length() - 1);
+    int expected = 0;
+    if (!list.isEmpty()) {
+      for (String index : list.split(", ")) {
+        expected += Math.min(3, persons.size() - Integer.parseInt(index) * 3);
+      }
+    }
+    try (SQLQuery query = SQL.simple("SELECT COUNT(*) FROM PARALLEL")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(Result.of(expected), query.getInt());
+    }
+  }
+
+  @Test
+  public void pipelined00() {
+    for (boolean parameterized : new boolean[] {false, true}) {
+      List<Person> persons = new ArrayList<>();
+      for (int i = 0; i < 10; ++i) {
+        // Quotes and backslashes must survive quoting on the producer thread
+        persons.add(new Person("P'" + i + "\\"));
+      }
+      BatchInsert<Person> insert = SQL
+            .insertBatch()
+            .of(Person.class)
+            .into("TEST")
+            .excluding("id")
+            .withChunkSize(3)
+            .withPipelining(true)
+            .withParameterizedValues(parameterized)
+            .prepare(MY_CON.get());
+      insert.insertBatchAndSetIDs("id", persons);
+      try (SQLQuery query = SQL.simple("SELECT NAME FROM TEST WHERE ID = :id")
+            .session(MY_CON.get())
+            .prepareQuery()) {
+        for (Person person : persons) {
+          query.bind("id", person.getId());
+          assertEquals(Result.of(person.getName()), query.getString());
+          query.reset();
+        }
+      }
+      try (SQLUpdate update = SQL.simple("DELETE FROM TEST")
+            .session(MY_CON.get())
+            .prepareUpdate()) {
+        update.execute();
+      }
+    }
+  }
+
+  @Test
+  public void insertAll00() {
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .withChunkSize(3)
+          .prepare(MY_CON.get());
+    long count = insert.insertAll(IntStream.range(0, 10)
+          .mapToObj(i -> new Person("P" + i)));
+    assertEquals(10, count);
+    try (SQLQuery query = SQL.simple("SELECT COUNT(*) FROM TEST")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(Result.of(10), query.getInt());
+    }
+  }
+
+  @Test
+  public void bulkLoad00() {
+    List<Person> persons = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      persons.add(new Person(i == 5 ? null : "P\"" + i + ","));
+    }
+    BatchInsert<Person> insert = SQL
+          .insertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .withChunkSize(3)
+          .withBulkLoader(BulkLoader.h2())
+          .prepare(MY_CON.get());
+    insert.insertBatch(persons);
+    try (SQLQuery query = SQL.simple("SELECT NAME FROM TEST ORDER BY ID")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      List<String> names = query.firstColumn(String.class);
+      assertEquals(persons.stream().map(Person::getName).toList(), names);
+    }
+    // Falls back to INSERT, because keys are requested
+    long[] ids = insert.insertBatchAndGetIDs(persons);
+    assertEquals(10, ids.length);
+  }
+
+  @Test
+  public void bulkLoad01() throws SQLException {
+    String sql = """
+          CREATE LOCAL TEMPORARY TABLE EVENT(
+            NAME VARCHAR(255),
+            DAY DATE,
+            START TIMESTAMP,
+            CREATED TIMESTAMP,
+            COLOR VARCHAR(16))
+          """;
+    SQL.staticSQL(sql).session(MY_CON.get()).execute();
+    LocalDate day = LocalDate.of(2024, 2, 29);
+    LocalDateTime start = LocalDateTime.of(2024, 2, 29, 13, 45, 30);
+    Date created = Date.from(start.atZone(ZoneId.systemDefault()).toInstant());
+    List<Event> events = List.of(new Event("E1", day, start, created, Color.RED),
+          new Event("E2", null, null, null, null));
+    BatchInsert<Event> insert = SQL.insertBatch()
+          .of(Event.class)
+          .into("EVENT")
+          .withBulkLoader(BulkLoader.h2())
+          .prepare(MY_CON.get());
+    insert.insertBatch(events);
+    try (Statement stmt = MY_CON.get().createStatement()) {
+      ResultSet rs = stmt.executeQuery("SELECT * FROM EVENT ORDER BY NAME");
+      rs.next();
+      assertEquals(day, rs.getObject("DAY", LocalDate.class));
+      assertEquals(start, rs.getObject("START", LocalDateTime.class));
+      assertEquals(start, rs.getObject("CREATED", LocalDateTime.class));
+      assertEquals("RED", rs.getString("COLOR"));
+      rs.next();
+      assertNull(rs.getObject("DAY"));
+      assertNull(rs.getObject("CREATED"));
+    }
+  }
+
+  @Test
+  public void bulkLoad02() {
+    String sql = "CREATE LOCAL TEMPORARY TABLE CHUNK(DATA VARBINARY(16))";
+    SQL.staticSQL(sql).session(MY_CON.get()).execute();
+    BatchInsert<Chunk> insert = SQL.insertBatch()
+          .of(Chunk.class)
+          .into("CHUNK")
+          .withBulkLoader(BulkLoader.h2())
+          .prepare(MY_CON.get());
+    List<Chunk> chunks = List.of(new Chunk(new byte[] {1, 2, 3}));
+    assertThrows(DatabaseException.class, () -> insert.insertBatch(chunks));
+  }
+
+}
@@ -0,0 +1,142 @@
+package org.klojang.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.klojang.check.aux.Result;
+import org.klojang.util.IOMethods;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//@Disabled
+public class BatchUpsertTest {
+
+  private static final String DB_DIR = System.getProperty("user.home") + "/SQLBatchUpsertTest/h2";
+  private static final ThreadLocal<Connection> MY_CON = new ThreadLocal<>();
+
+  public static class Person {
+    int id;
+    String name;
+
+    Person(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  @BeforeEach
+  public void before() throws IOException, SQLException {
+    IOMethods.rm(DB_DIR);
+    Files.createDirectories(Path.of(DB_DIR));
+    Connection c = DriverManager.getConnection("jdbc:h2:" + DB_DIR + "/test");
+    String sql = "CREATE LOCAL TEMPORARY TABLE TEST(ID INT PRIMARY KEY, NAME VARCHAR(255))";
+    try (Statement stmt = c.createStatement()) {
+      stmt.executeUpdate(sql);
+      stmt.executeUpdate("INSERT INTO TEST(ID, NAME) VALUES(1, 'John'), (2, 'Mark')");
+    }
+    MY_CON.set(c);
+  }
+
+  @AfterEach
+  public void after() throws SQLException {
+    if (MY_CON.get() != null) {
+      MY_CON.get().close();
+    }
+    IOMethods.rm(DB_DIR);
+  }
+
+  @Test
+  public void upsertBatch00() {
+    for (boolean parameterized : new boolean[] {false, true}) {
+      BatchUpsert<Person> upsert = SQL
+            .upsertBatch()
+            .of(Person.class)
+            .into("TEST")
+            .withKey("id")
+            .withChunkSize(2)
+            .withParameterizedValues(parameterized)
+            .prepare(MY_CON.get());
+      upsert.upsertBatch(List.of(new Person(2, "Edward"),
+            new Person(3, "Jane"),
+            new Person(4, "Mary")));
+      try (SQLQuery query = SQL.simple("SELECT NAME FROM TEST ORDER BY ID")
+            .session(MY_CON.get())
+            .prepareQuery()) {
+        assertEquals(List.of("John", "Edward", "Jane", "Mary"), query.firstColumn());
+      }
+    }
+  }
+
+  @Test
+  public void upsertAll00() {
+    BatchUpsert<Person> upsert = SQL
+          .upsertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .withKey("id")
+          .prepare(MY_CON.get());
+    long count = upsert.upsertAll(List.of(new Person(1, "Jim"),
+          new Person(5, "Jill")).stream());
+    assertEquals(2, count);
+    try (SQLQuery query = SQL.simple("SELECT COUNT(*) FROM TEST")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(Result.of(3), query.getInt());
+    }
+  }
+
+  @Test
+  public void noKey00() {
+    UpsertBuilder builder = SQL
+          .upsertBatch()
+          .of(Person.class)
+          .into("TEST");
+    assertThrows(IllegalStateException.class, () -> builder.prepare(MY_CON.get()));
+  }
+
+  @Test
+  public void withKey00() {
+    UpsertBuilder builder = SQL.upsertBatch();
+    assertThrows(IllegalArgumentException.class, () -> builder.withKey("id", null));
+  }
+
+  @Test
+  public void withKey01() {
+    String[] keys = {"id"};
+    UpsertBuilder builder = SQL
+          .upsertBatch()
+          .of(Person.class)
+          .into("TEST")
+          .withKey(keys);
+    keys[0] = "foo";
+    BatchUpsert<Person> upsert = builder.prepare(MY_CON.get());
+    upsert.upsertBatch(List.of(new Person(1, "Jim")));
+  }
+
+}
@@ -9,10 +9,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.klojang.jdbc.SQL.simpleQuery;
 import static org.klojang.jdbc.SQL.staticSQL;
 
@@ -43,6 +52,119 @@ public class BeanExtractorTest {
       assertEquals("Foo", emps.get(0).getEmpName());
     }
   }
+
+  @Test
+  public void compiled00() {
+    SessionConfig config = new SessionConfig() {
+      public boolean compileBeanAccessors() { return true; }
+    };
+    Connection con = MY_CON.get();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Foo')").session(con).execute();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES(NULL)").session(con).execute();
+    SQL sql = SQL.simple(config, "SELECT EMP_ID, EMP_NAME FROM EMPLOYEE ORDER BY EMP_ID");
+    try (SQLQuery query = sql.session(con).prepareQuery()) {
+      BeanExtractor<Employee> extractor = query.getExtractor(Employee.class);
+      assertTrue(((DefaultBeanExtractor<Employee>) extractor).isCompiled());
+      List<Employee> emps = extractor.extractAll();
+      assertEquals(2, emps.size());
+      assertEquals(1, emps.get(0).getEmpId());
+      assertEquals("Foo", emps.get(0).getEmpName());
+      assertEquals(2, emps.get(1).getEmpId());
+      assertNull(emps.get(1).getEmpName());
+    }
+  }
+
+  @Test
+  public void multiShape00() throws Exception {
+    Connection con = MY_CON.get();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Foo')").session(con).execute();
+    BeanExtractorFactory<Employee> factory = new BeanExtractorFactory<>(Employee.class);
+    String sql0 = "SELECT EMP_ID, EMP_NAME FROM EMPLOYEE";
+    String sql1 = "SELECT EMP_NAME FROM EMPLOYEE";
+    String sql2 = "SELECT EMP_NAME AS EMP_ID, EMP_ID AS EMP_NAME FROM EMPLOYEE";
+    try (SQLQuery query = simpleQuery(con, sql0)) {
+      Employee emp = factory.getExtractor(query.getResultSet()).extract().get();
+      assertEquals(1, emp.getEmpId());
+      assertEquals("Foo", emp.getEmpName());
+    }
+    try (SQLQuery query = simpleQuery(con, sql1)) {
+      Employee emp = factory.getExtractor(query.getResultSet()).extract().get();
+      assertEquals(0, emp.getEmpId());
+      assertEquals("Foo", emp.getEmpName());
+    }
+    // Same labels as sql0, but different types
+    try (SQLQuery query = simpleQuery(con, sql2)) {
+      ResultSet rs = query.getResultSet();
+      assertThrows(Exception.class, () -> factory.getExtractor(rs).extract());
+    }
+    try (SQLQuery query = simpleQuery(con, sql0)) {
+      Employee emp = factory.getExtractor(query.getResultSet()).extract().get();
+      assertEquals("Foo", emp.getEmpName());
+    }
+  }
+
+  @Test
+  public void forEach00() {
+    Connection con = MY_CON.get();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Foo')").session(con).execute();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Bar')").session(con).execute();
+    String sql = "SELECT EMP_ID, EMP_NAME FROM EMPLOYEE ORDER BY EMP_ID";
+    List<Employee> emps = new ArrayList<>();
+    try (SQLQuery query = simpleQuery(con, sql)) {
+      BeanExtractor<Employee> extractor = query.getExtractor(Employee.class);
+      extractor.forEach(emps::add);
+      assertTrue(extractor.isEmpty());
+    }
+    assertEquals(2, emps.size());
+    assertEquals("Foo", emps.get(0).getEmpName());
+    assertEquals("Bar", emps.get(1).getEmpName());
+  }
+
+  @Test
+  public void forEachFlyweight00() {
+    Connection con = MY_CON.get();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Foo')").session(con).execute();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES(NULL)").session(con).execute();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Bar')").session(con).execute();
+    String sql = "SELECT EMP_ID, EMP_NAME FROM EMPLOYEE ORDER BY EMP_ID";
+    Set<Employee> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<String> names = new ArrayList<>();
+    int[] sum = new int[1];
+    try (SQLQuery query = simpleQuery(con, sql)) {
+      query.getExtractor(Employee.class).forEachFlyweight(emp -> {
+        instances.add(emp);
+        names.add(emp.getEmpName());
+        sum[0] += emp.getEmpId();
+      });
+    }
+    assertEquals(1, instances.size());
+    assertEquals(Arrays.asList("Foo", null, "Bar"), names);
+    assertEquals(6, sum[0]);
+  }
+
+  @Test
+  public void parallel00() {
+    SessionConfig config = new SessionConfig() {
+      public int getExtractionParallelism() { return 4; }
+    };
+    Connection con = MY_CON.get();
+    for (int i = 0; i < 1000; ++i) {
+      staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Emp" + i + "')")
+            .session(con)
+            .execute();
+    }
+    SQL sql = SQL.simple(config, "SELECT EMP_ID, EMP_NAME FROM EMPLOYEE ORDER BY EMP_ID");
+    try (SQLQuery query = sql.session(con).prepareQuery()) {
+      List<Employee> emps = query.getExtractor(Employee.class).extractAll();
+      int size = emps.size();
+      assertEquals(1000, size);
+      for (int i = 0; i < 1000; ++i) {
+        assertEquals(i + 1, emps.get(i).getEmpId());
+        assertEquals("Emp" + i, emps.get(i).getEmpName());
+      }
+    }
+  }
+
   //@formatter:on
 
   //@formatter:off
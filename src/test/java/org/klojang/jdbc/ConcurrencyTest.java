@@ -0,0 +1,150 @@
+package org.klojang.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.klojang.jdbc.x.rs.ResultSetMethod;
+import org.klojang.util.IOMethods;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.klojang.jdbc.SQL.staticSQL;
+
+public class ConcurrencyTest {
+
+  private static final String DB_DIR = System.getProperty("user.home") + "/klojang-jdbc-tests/ConcurrencyTest/h2";
+  private static final String DB_URL = "jdbc:h2:" + DB_DIR + "/h2";
+
+  private static final int THREADS = 32;
+  private static final int ITERATIONS = 50;
+
+  private static final ThreadLocal<Connection> MY_CON = new ThreadLocal<>();
+
+  public static class Person {
+    int personId;
+    String firstName;
+
+    public int getPersonId() {
+      return personId;
+    }
+
+    public void setPersonId(int personId) {
+      this.personId = personId;
+    }
+
+    public String getFirstName() {
+      return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+      this.firstName = firstName;
+    }
+  }
+
+  public record Name(int personId, String firstName) { }
+
+  @BeforeEach
+  public void before() throws IOException, SQLException {
+    IOMethods.rm(DB_DIR);
+    Files.createDirectories(Path.of(DB_DIR));
+    Connection con = DriverManager.getConnection(DB_URL);
+    MY_CON.set(con);
+    String sql = "CREATE TABLE PERSON(PERSON_ID INT AUTO_INCREMENT, FIRST_NAME VARCHAR(32))";
+    staticSQL(sql).session(con).execute();
+    for (int i = 0; i < 20; ++i) {
+      staticSQL("INSERT INTO PERSON(FIRST_NAME)VALUES('P" + i + "')")
+            .session(con)
+            .execute();
+    }
+  }
+
+  @AfterEach
+  public void after() throws SQLException, IOException {
+    if (MY_CON.get() != null) {
+      MY_CON.get().close();
+    }
+    IOMethods.rm(DB_DIR);
+  }
+
+  @Test
+  public void sharedSQL00() throws Exception {
+    SQL query = SQL.simple("SELECT * FROM PERSON WHERE PERSON_ID > :personId ORDER BY PERSON_ID");
+    SQL update = SQL.simple("UPDATE PERSON SET FIRST_NAME = :firstName WHERE PERSON_ID = :personId");
+    int count = run(() -> {
+      int rows = 0;
+      try (Connection con = DriverManager.getConnection(DB_URL)) {
+        for (int i = 0; i < ITERATIONS; ++i) {
+          try (SQLQuery q = query.session(con).prepareQuery()) {
+            rows += q.bind(Map.of("personId", 10)).getExtractor(Person.class).extractAll().size();
+          }
+          try (SQLQuery q = query.session(con).prepareQuery()) {
+            rows += q.bind("personId", 10).getExtractor(Name.class).extractAll().size();
+          }
+          try (SQLQuery q = query.session(con).prepareQuery()) {
+            rows += q.bind("personId", 10).getExtractor().extractAll().size();
+          }
+          Person person = new Person();
+          person.setPersonId(1);
+          person.setFirstName("P0");
+          try (SQLUpdate u = update.session(con).prepareUpdate()) {
+            u.bind(person).execute();
+          }
+        }
+      }
+      return rows;
+    });
+    assertEquals(THREADS * ITERATIONS * 3 * 10, count);
+  }
+
+  @Test
+  public void objectGetters00() throws Exception {
+    record Foo() { }
+    List<ResultSetMethod<Foo>> getters = new ArrayList<>();
+    run(() -> {
+      ResultSetMethod<Foo> getter = ResultSetMethod.getObjectGetter(Foo.class);
+      synchronized (getters) {
+        getters.add(getter);
+      }
+      return 0;
+    });
+    int size = getters.size();
+    assertEquals(THREADS, size);
+    getters.forEach(g -> assertSame(getters.get(0), g));
+  }
+
+  // Runs the task simultaneously on all threads and returns the sum of the results
+  private static int run(Callable<Integer> task) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> futures = new ArrayList<>(THREADS);
+    try (ExecutorService exec = Executors.newFixedThreadPool(THREADS)) {
+      for (int i = 0; i < THREADS; ++i) {
+        futures.add(exec.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+      start.countDown();
+      int sum = 0;
+      for (Future<Integer> f : futures) {
+        sum += f.get();
+      }
+      return sum;
+    }
+  }
+
+}
@@ -182,4 +182,36 @@ public class DeserializeWithCustomReaderTest {
     assertEquals("bar", emp1.dept().name());
   }
 
+  @Test
+  public void primitiveCustomReader00() {
+    Emp emp0 = new Emp(1, "foo", new Dept(42, "bar"));
+    SQLInsert insert = SQL.insert()
+          .of(Emp.class)
+          .retrieveKeys(false)
+          .prepare(MY_CON.get());
+    insert.bind(emp0).execute();
+    insert.close();
+    CustomReader.OfInt idReader = (rs, idx) -> rs.getInt(idx) + 100;
+    SessionConfig config = new SessionConfig() {
+      @Override
+      public CustomReader getCustomReader(Class<?> beanType,
+            String propertyName,
+            Class<?> propertyType,
+            int sqlType) {
+        if (propertyName.equals("dept")) {
+          return reader;
+        } else if (propertyName.equals("id")) {
+          return idReader;
+        }
+        return null;
+      }
+    };
+    Emp emp1 = SQL.simpleQuery(MY_CON.get(), config, "SELECT * FROM EMP")
+          .getExtractor(Emp.class)
+          .extract()
+          .get();
+    assertEquals(101, emp1.id());
+    assertEquals(emp0.dept(), emp1.dept());
+  }
+
 }
@@ -4,17 +4,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.klojang.util.IOMethods;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.klojang.jdbc.SQL.simpleQuery;
 import static org.klojang.jdbc.SQL.staticSQL;
 
@@ -70,4 +77,53 @@ public class MapExtractorTest {
     List<Map<String, Object>> depts = sharedExtractor.extractAll();
     assertEquals("Bar", depts.get(0).get("name"));
   }
+
+  @Test
+  public void rowMap00() {
+    Connection con = MY_CON.get();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Foo')").session(con).execute();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Bar')").session(con).execute();
+    String sql = "SELECT EMP_ID AS ID, EMP_NAME AS NAME FROM EMPLOYEE ORDER BY EMP_ID";
+    List<Map<String, Object>> emps;
+    try (SQLQuery query = simpleQuery(con, sql)) {
+      emps = query.getExtractor().extractAll();
+    }
+    Map<String, Object> emp0 = emps.get(0);
+    Map<String, Object> emp1 = emps.get(1);
+    assertEquals(Map.of("id", emp0.get("id"), "name", "Foo"), emp0);
+    assertEquals(List.of("id", "name"), List.copyOf(emp0.keySet()));
+    emp0.put("name", "Baz");
+    assertEquals("Baz", emp0.get("name"));
+    assertEquals("Bar", emp1.get("name"));
+    emp0.put("salary", 1000);
+    emp0.remove("id");
+    assertFalse(emp0.containsKey("id"));
+    assertEquals(Map.of("name", "Baz", "salary", 1000), emp0);
+    int size = emp1.size();
+    assertEquals(2, size);
+    assertTrue(emp1.containsKey("id"));
+  }
+
+  @Test
+  public void rowMap01() throws Exception {
+    Connection con = MY_CON.get();
+    staticSQL("INSERT INTO EMPLOYEE(EMP_NAME)VALUES('Foo')").session(con).execute();
+    String sql = "SELECT EMP_ID AS ID, EMP_NAME AS NAME FROM EMPLOYEE";
+    Map<String, Object> emp;
+    try (SQLQuery query = simpleQuery(con, sql)) {
+      emp = query.getExtractor().extract().get();
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(emp);
+    }
+    Object obj;
+    try (ObjectInputStream in = new ObjectInputStream(
+          new ByteArrayInputStream(bytes.toByteArray()))) {
+      obj = in.readObject();
+    }
+    assertEquals(LinkedHashMap.class, obj.getClass());
+    assertEquals(emp, obj);
+    assertEquals(List.of("id", "name"), List.copyOf(((Map<?, ?>) obj).keySet()));
+  }
 }
@@ -16,6 +16,9 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class RecordExtractorTest {
   private static final String DB_DIR = System.getProperty("user.home") + "/klojang-jdbc-tests/RecordExtractorTest";
   private static final ThreadLocal<Connection> MY_CON = new ThreadLocal<>();
@@ -32,6 +35,9 @@ public class RecordExtractorTest {
 
   }
 
+  // personId is read with ResultSet.getLong() and passed on unboxed, without an adapter
+  public record Person2(long personId, String firstName, String lastName) { }
+
   @BeforeEach
   public void before() throws IOException, SQLException {
     IOMethods.rm(DB_DIR);
@@ -103,4 +109,71 @@ public class RecordExtractorTest {
     }
   }
 
+  @Test
+  public void test01() {
+    String sql = "SELECT * FROM PERSON ORDER BY PERSON_ID";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      List<Person> persons = query.getExtractor(Person.class).extractAll();
+      assertEquals(10, persons.size());
+      assertEquals("John", persons.get(0).firstName());
+      assertEquals("Smith", persons.get(0).lastName());
+      assertEquals(LocalDate.of(1960, 4, 15), persons.get(0).birthDate());
+      assertEquals(persons.get(0).personId() + 9, persons.get(9).personId());
+    }
+  }
+
+  @Test
+  public void test02() {
+    String sql = "SELECT PERSON_ID, FIRST_NAME, LAST_NAME FROM PERSON ORDER BY PERSON_ID";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      List<Person2> persons = query.getExtractor(Person2.class).extractAll();
+      assertEquals(10, persons.size());
+      assertEquals("Joe", persons.get(9).firstName());
+      assertEquals("Peterson", persons.get(9).lastName());
+      assertTrue(persons.get(9).personId() > persons.get(0).personId());
+    }
+  }
+
+  @Test
+  public void parallel00() {
+    SessionConfig config = new SessionConfig() {
+      public int getExtractionParallelism() { return 2; }
+    };
+    String sql = "SELECT * FROM PERSON ORDER BY PERSON_ID";
+    try (SQLQuery query = SQL.simple(config, sql).session(MY_CON.get()).prepareQuery()) {
+      List<Person> persons = query.getExtractor(Person.class).extractAll();
+      assertEquals(10, persons.size());
+      assertEquals("John", persons.get(0).firstName());
+      assertEquals(LocalDate.of(1960, 4, 15), persons.get(0).birthDate());
+      assertEquals("Joe", persons.get(9).firstName());
+      assertEquals(persons.get(0).personId() + 9, persons.get(9).personId());
+    }
+  }
+
+  @Test
+  public void parallel01() {
+    // Enough rows to be spread over multiple batches of the RowPipeline
+    Connection con = MY_CON.get();
+    for (int i = 0; i < 600; ++i) {
+      SQL.staticSQL("INSERT INTO PERSON(FIRST_NAME)VALUES('P" + i + "')")
+            .session(con)
+            .execute();
+    }
+    SessionConfig config = new SessionConfig() {
+      public int getExtractionParallelism() { return 3; }
+    };
+    String sql = "SELECT PERSON_ID, FIRST_NAME, LAST_NAME FROM PERSON ORDER BY PERSON_ID";
+    try (SQLQuery query = SQL.simple(config, sql).session(con).prepareQuery()) {
+      List<Person2> persons = query.getExtractor(Person2.class).extractAll();
+      assertEquals(610, persons.size());
+      for (int i = 1; i < persons.size(); ++i) {
+        assertEquals(persons.get(i - 1).personId() + 1, persons.get(i).personId());
+      }
+      assertEquals("John", persons.get(0).firstName());
+      for (int i = 0; i < 600; ++i) {
+        assertEquals("P" + i, persons.get(i + 10).firstName());
+      }
+    }
+  }
+
 }
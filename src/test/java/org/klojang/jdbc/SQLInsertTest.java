@@ -12,10 +12,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static java.sql.Statement.RETURN_GENERATED_KEYS;
 import static java.util.stream.Collectors.toList;
@@ -235,4 +237,116 @@ public class SQLInsertTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void insertAllAndGetIDs01() {
+    List<Person> beans = List.of(new Person("John"),
+          new Person("Mark"),
+          new Person("Edward"),
+          new Person("Jane"),
+          new Person("Mary"));
+    long[] ids;
+    try (SQLInsert insert = SQL
+          .insert()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .prepare(MY_CON.get())) {
+      ids = insert.withChunkSize(2).insertBatchAndGetIDs(beans);
+    }
+    assertEquals(5, ids.length);
+    try (SQLQuery query = SQL.simple("SELECT ID FROM TEST ORDER BY ID")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      long[] actual = Morph.convert(query.firstColumn(), long[].class);
+      assertArrayEquals(ids, actual);
+    }
+  }
+
+  @Test
+  public void insertAllAndSetIDs01() {
+    List<Person> beans = List.of(new Person("John"),
+          new Person("Mark"),
+          new Person("Edward"));
+    try (SQLInsert insert = SQL
+          .insert()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .prepare(MY_CON.get())) {
+      insert.withChunkSize(2).withCommitPerChunk(true).insertBatchAndSetIDs("id", beans);
+    }
+    List<Integer> ids = beans.stream().mapToInt(Person::getId).boxed().collect(toList());
+    try (SQLQuery query = SQL.simple("SELECT ID FROM TEST ORDER BY ID")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      List<Integer> actual = query.firstColumn(Integer.class);
+      assertEquals(ids, actual);
+    }
+  }
+
+  @Test
+  public void insertAllAndSetIDs02() {
+    // The name in the second chunk is too long for the NAME column
+    List<Person> beans = List.of(new Person("John"),
+          new Person("Mark"),
+          new Person("E".repeat(300)));
+    try (SQLInsert insert = SQL
+          .insert()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .prepare(MY_CON.get())) {
+      insert.withChunkSize(2).withCommitPerChunk(true);
+      assertThrows(DatabaseException.class,
+            () -> insert.insertBatchAndSetIDs("id", beans));
+    }
+    // The beans in the first chunk must have received their IDs nonetheless
+    assertNotEquals(0, beans.get(0).getId());
+    assertNotEquals(0, beans.get(1).getId());
+    assertEquals(0, beans.get(2).getId());
+  }
+
+  @Test
+  public void insertAll00() {
+    long count;
+    try (SQLInsert insert = SQL
+          .insert()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .prepare(MY_CON.get())) {
+      count = insert.withChunkSize(2).insertAll(Stream.of(new Person("John"),
+            new Person("Mark"),
+            new Person("Edward"),
+            new Person("Jane"),
+            new Person("Mary")));
+    }
+    assertEquals(5, count);
+    try (SQLQuery query = SQL.simple("SELECT COUNT(*) FROM TEST")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(Result.of(5), query.getInt());
+    }
+  }
+
+  @Test
+  public void insertBatch01() {
+    try (SQLInsert insert = SQL
+          .insert()
+          .of(Person.class)
+          .into("TEST")
+          .excluding("id")
+          .prepare(MY_CON.get())) {
+      List<Person> bad = Arrays.asList(new Person("John"), null);
+      assertThrows(DatabaseException.class, () -> insert.insertBatch(bad));
+      // John must not be saved along with the next batch
+      insert.insertBatch(List.of(new Person("Mark")));
+    }
+    try (SQLQuery query = SQL.simple("SELECT NAME FROM TEST")
+          .session(MY_CON.get())
+          .prepareQuery()) {
+      assertEquals(List.of("Mark"), query.firstColumn());
+    }
+  }
+
+}
@@ -14,7 +14,11 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -218,4 +222,146 @@ public class SQLQueryTest {
       assertEquals(List.of("Bear", "Bester"), l);
     }
   }
+
+  @Test
+  public void stream00() {
+    String sql = "SELECT * FROM PERSON ORDER BY FIRST_NAME";
+    SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery();
+    List<String> names;
+    try (Stream<Person> persons = query.withFetchSize(3).stream(Person.class)) {
+      names = persons.skip(1).limit(3).map(Person::getFirstName).toList();
+    }
+    assertEquals(List.of("Dieter", "Jill", "Joan"), names);
+    // Closing the stream closes the query
+    assertThrows(Exception.class, query::exists);
+  }
+
+  @Test
+  public void stream01() {
+    String sql = "SELECT * FROM PERSON ORDER BY FIRST_NAME";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      List<String> names = query.withFetchSize(3)
+            .getExtractor(Person.class)
+            .stream()
+            .parallel()
+            .map(Person::getFirstName)
+            .toList();
+      int size = names.size();
+      assertEquals(10, size);
+      assertEquals("Carlos", names.get(0));
+      assertEquals("Stephen", names.get(9));
+    }
+  }
+
+  @Test
+  public void stream02() throws SQLException {
+    String sql = "SELECT * FROM PERSON ORDER BY FIRST_NAME";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      // A converter returning null must not be mistaken for the end of the rows
+      BeanExtractorFactory<String> factory = new BeanExtractorFactory<>(rs -> {
+        String name = rs.getString("FIRST_NAME");
+        return name.startsWith("J") ? null : name;
+      });
+      List<String> names = factory.getExtractor(query.getResultSet())
+            .stream()
+            .filter(Objects::nonNull)
+            .toList();
+      assertEquals(List.of("Carlos", "Dieter", "Mary", "Mary", "Peter", "Stephen"),
+            names);
+    }
+  }
+
+  @Test
+  public void columnar00() {
+    SQL.simpleInsert(MY_CON.get(),
+                "INSERT INTO PERSON(FIRST_NAME,LAST_NAME,BIRTH_DATE)VALUES(NULL,NULL,NULL)")
+          .execute();
+    String sql = "SELECT * FROM PERSON ORDER BY ID";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      ColumnarResult result = query.getColumnarResult(4);
+      int size = result.size();
+      assertEquals(11, size);
+      assertEquals(List.of("id", "firstName", "lastName", "birthDate"),
+            result.getColumnNames());
+      assertEquals(int.class, result.getColumnType("id"));
+      assertEquals(String.class, result.getColumnType("lastName"));
+      assertEquals(Object.class, result.getColumnType("birthDate"));
+      int[] ids = result.getInts("id");
+      int len = ids.length;
+      assertEquals(11, len);
+      assertTrue(ids[10] > ids[0]);
+      List<String> dict = result.getDictionary("lastName");
+      int dictSize = dict.size();
+      assertEquals(7, dictSize);
+      int[] codes = result.getStringCodes("lastName");
+      int smith = dict.indexOf("Smith");
+      assertEquals(3, Arrays.stream(codes).filter(c -> c == smith).count());
+      assertEquals("Kriel", result.getString("lastName", 3));
+      assertEquals(java.sql.Date.valueOf("1960-04-15"), result.get("birthDate", 0));
+      assertFalse(result.isNull("lastName", 0));
+      assertTrue(result.isNull("lastName", 10));
+      assertTrue(result.isNull("birthDate", 10));
+      assertEquals(-1, codes[10]);
+      assertNull(result.getString("lastName", 10));
+      assertThrows(IllegalArgumentException.class, () -> result.getLongs("id"));
+      assertThrows(IllegalArgumentException.class, () -> result.getInts("foo"));
+    }
+  }
+
+  @Test
+  public void columnar01() {
+    String sql = "SELECT LAST_NAME, FIRST_NAME AS LAST_NAME FROM PERSON";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      assertThrows(DatabaseException.class, query::getColumnarResult);
+    }
+  }
+
+  @Test
+  public void forEachRow00() {
+    SQL.simpleInsert(MY_CON.get(),
+                "INSERT INTO PERSON(FIRST_NAME,LAST_NAME,BIRTH_DATE)VALUES('Zed',NULL,NULL)")
+          .execute();
+    String sql = "SELECT * FROM PERSON ORDER BY ID";
+    List<String> names = new ArrayList<>();
+    List<LocalDate> dates = new ArrayList<>();
+    int[] nulls = new int[1];
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      query.forEachRow(row -> {
+        names.add(row.getString("firstName"));
+        dates.add(row.get("birthDate", LocalDate.class));
+        row.getString("lastName");
+        if (row.wasNull()) {
+          ++nulls[0];
+        }
+      });
+    }
+    int size = names.size();
+    assertEquals(11, size);
+    assertEquals("Zed", names.get(10));
+    assertEquals(LocalDate.of(1960, 4, 15), dates.get(0));
+    assertNull(dates.get(10));
+    assertEquals(1, nulls[0]);
+  }
+
+  @Test
+  public void rowView00() {
+    String sql = "SELECT * FROM PERSON ORDER BY ID";
+    try (SQLQuery query = SQL.simple(sql).session(MY_CON.get()).prepareQuery()) {
+      RowView row = query.getRowView();
+      assertEquals(List.of("id", "firstName", "lastName", "birthDate"),
+            row.getColumnNames());
+      int id = row.indexOf("id");
+      assertEquals(1, id);
+      long sum = 0;
+      int count = 0;
+      while (row.next()) {
+        sum += row.getLong(id);
+        ++count;
+      }
+      assertEquals(10, count);
+      assertTrue(sum > 0);
+      assertThrows(IllegalArgumentException.class, () -> row.indexOf("foo"));
+      assertThrows(IllegalArgumentException.class, () -> row.indexOf(null));
+    }
+  }
 }
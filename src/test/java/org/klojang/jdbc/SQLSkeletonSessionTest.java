@@ -15,6 +15,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class SQLSkeletonSessionTest {
 
@@ -82,5 +83,26 @@ public class SQLSkeletonSessionTest {
     }
   }
 
+  @Test
+  public void paramInfoCache00() {
+    Connection con = MY_CON.get();
+    try {
+      SQL.simpleUpdate(con, "CREATE TABLE PERSON (NAME VARCHAR(255))").execute();
+      SQL sql = SQL.skeleton("SELECT * FROM PERSON WHERE NAME = :name ORDER BY ~%col%");
+      SQLSession session = sql.session(con).setIdentifier("col", "NAME");
+      try (SQLQuery query0 = session.prepareQuery()) {
+        query0.bind("name", "John");
+        assertFalse(query0.exists());
+        session = sql.session(con).setIdentifier("col", "NAME");
+        try (SQLQuery query1 = session.prepareQuery()) {
+          assertSame(query0.paramInfo, query1.paramInfo);
+          query1.bind("name", "Jane");
+          assertFalse(query1.exists());
+        }
+      }
+    } finally {
+      SQL.simpleUpdate(con, "DROP TABLE PERSON").execute();
+    }
+  }
 
 }
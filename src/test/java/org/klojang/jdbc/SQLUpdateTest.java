@@ -3,17 +3,22 @@ package org.klojang.jdbc;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.klojang.jdbc.x.ps.BeanBinder;
 import org.klojang.util.IOMethods;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.sql.Statement.RETURN_GENERATED_KEYS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 //@Disabled
@@ -113,6 +118,119 @@ public class SQLUpdateTest {
     }
   }
 
+  @Test
+  public void bindMap00() {
+    Connection con = MY_CON.get();
+    SQL insert = SQL.simple("INSERT INTO TEST(NAME) VALUES(:name)");
+    Map<String, Object> data = new HashMap<>();
+    // Same map type and parameter, but the value type varies between executions
+    Object[] names = {"John", 42, null, Thread.State.NEW, "Mary"};
+    for (Object name : names) {
+      data.put("name", name);
+      try (SQLInsert ins = insert.session(con).prepareInsert()) {
+        ins.bind(data).execute();
+      }
+    }
+    SQL query = SQL.simple("SELECT NAME FROM TEST ORDER BY ID");
+    try (SQLQuery q = query.session(con).prepareQuery()) {
+      List<String> result = q.firstColumn();
+      assertEquals(Arrays.asList("John", "42", null, "0", "Mary"), result);
+    }
+  }
+
+  @Test
+  public void bindCompiled00() {
+    SessionConfig config = new SessionConfig() {
+      public boolean compileBeanAccessors() { return true; }
+    };
+    Connection con = MY_CON.get();
+    SQL insert = SQL.simple(config, "INSERT INTO TEST(ID, NAME) VALUES(:id, :name)");
+    Person[] persons = {new Person("John"), new Person(null), new Person("Mary")};
+    for (int i = 0; i < persons.length; ++i) {
+      persons[i].setId(i + 10);
+      try (SQLInsert ins = insert.session(con).prepareInsert()) {
+        ins.bind(persons[i]).execute();
+        BeanBinder<Person> binder = ins.session.getSQL()
+              .getBeanBinder(ins.paramInfo, Person.class);
+        assertTrue(binder.isCompiled());
+      }
+    }
+    SQL query = SQL.simple("SELECT NAME FROM TEST WHERE ID >= 10 ORDER BY ID");
+    try (SQLQuery q = query.session(con).prepareQuery()) {
+      List<String> result = q.firstColumn();
+      assertEquals(Arrays.asList("John", null, "Mary"), result);
+    }
+  }
+
+  @Test
+  public void unbound00() {
+    Connection con = MY_CON.get();
+    SQL update = SQL.simple("UPDATE TEST SET NAME = :name WHERE ID = :id");
+    try (SQLUpdate upd = update.session(con).prepareUpdate()) {
+      assertThrows(DatabaseException.class, () -> upd.bind("name", "John").execute());
+      upd.reset();
+      // Parameters bound before the reset no longer count
+      assertThrows(DatabaseException.class, () -> upd.bind("id", 1).execute());
+      upd.reset();
+      upd.bind("id", 1).bind(Map.of("name", "John")).execute();
+    }
+  }
+
+  @Test
+  public void executeBatch00() {
+    Connection con = MY_CON.get();
+    SQL insert = SQL.simple("INSERT INTO TEST(ID, NAME) VALUES(:id, :name)");
+    for (int i = 1; i <= 5; ++i) {
+      try (SQLInsert ins = insert.session(con).prepareInsert()) {
+        ins.bind(Map.of("id", i, "name", "Name" + i)).execute();
+      }
+    }
+    Person p0 = new Person("John");
+    p0.setId(1);
+    Person p1 = new Person("Mary");
+    p1.setId(3);
+    List<Object> batch = List.of(p0,
+          Map.of("id", 2, "name", "Jim"),
+          p1,
+          Map.of("id", 42, "name", "Nobody"),
+          Map.of("id", 5, "name", "Jane"));
+    SQL update = SQL.simple("UPDATE TEST SET NAME = :name WHERE ID = :id");
+    try (SQLUpdate upd = update.session(con).prepareUpdate()) {
+      long[] counts = upd.withChunkSize(2).executeBatch(batch);
+      assertEquals("[1, 1, 1, 0, 1]", Arrays.toString(counts));
+    }
+    SQL query = SQL.simple("SELECT NAME FROM TEST ORDER BY ID");
+    try (SQLQuery q = query.session(con).prepareQuery()) {
+      List<String> result = q.firstColumn();
+      assertEquals(List.of("John", "Jim", "Mary", "Name4", "Jane"), result);
+    }
+  }
+
+  @Test
+  public void executeBatch01() {
+    Connection con = MY_CON.get();
+    SQL insert = SQL.simple("INSERT INTO TEST(ID, NAME) VALUES(:id, :name)");
+    for (int i = 1; i <= 3; ++i) {
+      try (SQLInsert ins = insert.session(con).prepareInsert()) {
+        ins.bind(Map.of("id", i, "name", "Name" + i)).execute();
+      }
+    }
+    SQL update = SQL.simple("UPDATE TEST SET NAME = :name WHERE ID = :id");
+    try (SQLUpdate upd = update.session(con).prepareUpdate()) {
+      // The second element lacks a value for :name
+      List<Object> bad = List.of(Map.of("id", 1, "name", "Stale"), Map.of("id", 2));
+      assertThrows(DatabaseException.class, () -> upd.executeBatch(bad));
+      List<Object> good = List.of(Map.of("id", 2, "name", "Jim"),
+            Map.of("id", 3, "name", "Jane"),
+            Map.of("id", 42, "name", "Nobody"));
+      assertEquals(2, upd.executeBatchAndCount(good));
+    }
+    SQL query = SQL.simple("SELECT NAME FROM TEST ORDER BY ID");
+    try (SQLQuery q = query.session(con).prepareQuery()) {
+      assertEquals(List.of("Name1", "Jim", "Jane"), q.firstColumn());
+    }
+  }
+
 //  @Test
 //  public void test03() {
 //    String s = "INSERT INTO TEST(NAME) VALUES(:name)";
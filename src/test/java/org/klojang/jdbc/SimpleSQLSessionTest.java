@@ -11,10 +11,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class SimpleSQLSessionTest {
   private static final String DB_DIR = System.getProperty("user.home") + "/h2.SimpleSQLSessionTest";
@@ -118,4 +119,99 @@ public class SimpleSQLSessionTest {
           .prepareUpdate()
           .execute();
   }
+
+  @Test
+  public void statementCache00() throws SQLException {
+    SessionConfig config = new SessionConfig() {
+      public int getStatementCacheSize() { return 10; }
+    };
+    Connection con = MY_CON.get();
+    SQL sql = SQL.simple(config, "SELECT FIRST_NAME FROM PERSON WHERE ID = :id");
+    SQLSession session = sql.session(con);
+    PreparedStatement ps;
+    try (SQLQuery query = session.prepareQuery()) {
+      ps = query.stmt();
+      assertFalse(query.bind("id", 1).exists());
+    }
+    assertFalse(ps.isClosed());
+    try (SQLQuery query = session.prepareQuery()) {
+      assertSame(ps, query.stmt());
+      try (SQLQuery nested = session.prepareQuery()) {
+        assertNotSame(ps, nested.stmt());
+      }
+      assertFalse(query.bind("id", 1).exists());
+    }
+    // Caches are not shared between sessions
+    try (SQLQuery query = sql.session(con).prepareQuery()) {
+      assertNotSame(ps, query.stmt());
+    }
+  }
+
+  @Test
+  public void statementCache01() throws SQLException {
+    SessionConfig config = new SessionConfig() {
+      public int getStatementCacheSize() { return 1; }
+    };
+    Connection con = MY_CON.get();
+    SQL sql = SQL.simple(config, "SELECT FIRST_NAME FROM PERSON WHERE ID = :id");
+    SQLSession session = sql.session(con);
+    PreparedStatement ps;
+    try (SQLQuery query = session.prepareQuery()) {
+      ps = query.stmt();
+    }
+    try (SQLInsert insert = session.prepareInsert(true)) {
+      assertNotSame(ps, insert.stmt());
+    }
+    // evicted
+    assertTrue(ps.isClosed());
+  }
+
+  @Test
+  public void statementCache02() {
+    SessionConfig config = new SessionConfig() {
+      public int getStatementCacheSize() { return 10; }
+    };
+    Connection con = MY_CON.get();
+    SQL sql = SQL.simple(config, "INSERT INTO PERSON(FIRST_NAME,LAST_NAME,AGE)"
+          + "VALUES(:firstName,:lastName,:age)");
+    SQLSession session = sql.session(con);
+    for (int i = 0; i < 10; ++i) {
+      try (SQLInsert insert = session.prepareInsert(true)) {
+        long id = insert.bind(new Person(null, "John", "Smith", i)).execute();
+        assertEquals(i + 1, id);
+      }
+    }
+    try (SQLInsert insert = session.prepareInsert(false)) {
+      insert.bind(new Person(null, "John", "Smith", 10)).execute();
+    }
+    SQL count = SQL.simple(config, "SELECT COUNT(*) FROM PERSON");
+    try (SQLQuery query = count.session(con).prepareQuery()) {
+      int rows = query.getInt().get();
+      assertEquals(11, rows);
+    }
+  }
+
+  @Test
+  public void statementCache03() throws SQLException {
+    SessionConfig config = new SessionConfig() {
+      public int getStatementCacheSize() { return 10; }
+    };
+    Connection con = MY_CON.get();
+    SQL sql = SQL.simple(config, "SELECT FIRST_NAME FROM PERSON WHERE ID = :id");
+    SQLSession session = sql.session(con);
+    PreparedStatement ps;
+    try (SQLQuery query = session.prepareQuery()) {
+      ps = query.stmt();
+      ps.setMaxRows(1);
+      ps.setQueryTimeout(10);
+    }
+    try (SQLQuery query = session.prepareQuery()) {
+      assertSame(ps, query.stmt());
+      assertEquals(0, ps.getMaxRows());
+      assertEquals(0, ps.getQueryTimeout());
+    }
+    con.close();
+    // The statement cannot be reused once the connection has been closed
+    assertThrows(DatabaseException.class, session::prepareQuery);
+  }
 }
@@ -0,0 +1,95 @@
+package org.klojang.jdbc.x;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+  @Test
+  public void get00() {
+    BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+    assertEquals("FOO", cache.get("foo", String::toUpperCase));
+    assertEquals("FOO", cache.get("foo", String::toUpperCase));
+    assertEquals("BAR", cache.get("bar", String::toUpperCase));
+    BoundedCache.Statistics stats = cache.getStatistics();
+    assertEquals(1, stats.hits());
+    assertEquals(2, stats.misses());
+    assertEquals(2, stats.size());
+    assertEquals(1D / 3D, stats.hitRate(), 0.0001);
+  }
+
+  @Test
+  public void evict00() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 8);
+    for (int i = 0; i < 100; ++i) {
+      cache.get(i, k -> k * 2);
+      assertTrue(cache.size() <= 8);
+    }
+    assertTrue(cache.getStatistics().evictions() >= 92);
+  }
+
+  @Test
+  public void evict01() throws InterruptedException {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>("test", 4);
+    for (int i = 0; i < 4; ++i) {
+      cache.get(i, k -> k);
+      Thread.sleep(1);
+    }
+    // Touch the first entry so it becomes the most recently used one
+    cache.get(0, k -> -1);
+    cache.get(4, k -> k);
+    int value = cache.get(0, k -> -1);
+    assertEquals(0, value);
+  }
+
+  @Test
+  public void loaderException00() {
+    BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+    assertThrows(IllegalArgumentException.class, () -> cache.get("foo", k -> {
+      throw new IllegalArgumentException();
+    }));
+    assertEquals(0, cache.size());
+    assertEquals("FOO", cache.get("foo", String::toUpperCase));
+  }
+
+  @Test
+  public void singleFlight00() throws Exception {
+    BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> futures = new ArrayList<>();
+    try (ExecutorService exec = Executors.newFixedThreadPool(16)) {
+      for (int i = 0; i < 16; ++i) {
+        futures.add(exec.submit(() -> {
+          start.await();
+          return cache.get("foo", k -> {
+            loads.incrementAndGet();
+            try {
+              Thread.sleep(50);
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+            return k.toUpperCase();
+          });
+        }));
+      }
+      start.countDown();
+      for (Future<String> f : futures) {
+        assertEquals("FOO", f.get());
+      }
+    }
+    assertEquals(1, loads.get());
+    assertEquals(1, cache.getStatistics().misses());
+    assertEquals(15, cache.getStatistics().hits());
+  }
+
+}
@@ -13,6 +13,7 @@ import java.nio.file.Path;
 import java.sql.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class JDBCTest {
   private static final String DB_DIR = System.getProperty("user.home") + "/klojang-jdbc-tests/JDBCTest/h2";
@@ -58,4 +59,16 @@ public class JDBCTest {
   }
 
 
+
+  @Test
+  public void quoteStandard00() throws SQLException {
+    try (Statement stmt = MY_CON.get().createStatement()) {
+      assertTrue(JDBC.usesStandardQuoting(stmt));
+      String s = "It's a \\ \"test\"";
+      assertEquals(JDBC.quote(stmt, s), JDBC.quoteStandard(s));
+      assertEquals("'It''s a \\ \"test\"'", JDBC.quoteStandard(s));
+      assertEquals("NULL", JDBC.quoteStandard(null));
+      assertEquals("42", JDBC.quoteStandard(42));
+    }
+  }
 }
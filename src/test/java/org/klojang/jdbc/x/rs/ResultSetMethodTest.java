@@ -0,0 +1,26 @@
+package org.klojang.jdbc.x.rs;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResultSetMethodTest {
+
+  @Test
+  public void isDetached00() {
+    assertTrue(ResultSetMethod.GET_STRING.isDetached());
+    assertTrue(ResultSetMethod.GET_BYTES.isDetached());
+    assertTrue(ResultSetMethod.getObjectGetter(LocalDateTime.class).isDetached());
+    assertTrue(ResultSetMethod.getObjectGetter(Object[].class).isDetached());
+    assertFalse(ResultSetMethod.getObjectGetter(Blob.class).isDetached());
+    assertFalse(ResultSetMethod.getObjectGetter(Clob.class).isDetached());
+    assertFalse(ResultSetMethod.getObjectGetter(InputStream.class).isDetached());
+  }
+
+}
@@ -0,0 +1,91 @@
+package org.klojang.jdbc.x.sql;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.klojang.jdbc.x.sql.UpsertDialect.*;
+
+public class UpsertDialectTest {
+
+  private static final List<String> COLS = List.of("ID", "NAME", "AGE");
+  private static final List<String> KEYS = List.of("ID");
+
+  @Test
+  public void h2() {
+    UpsertDialect dialect = UpsertDialect.H2;
+    assertEquals("MERGE INTO PERSON(ID,NAME,AGE)KEY(ID)VALUES",
+          dialect.head("PERSON", COLS, KEYS));
+    assertEquals("", dialect.tail(COLS, KEYS));
+  }
+
+  @Test
+  public void postgresql00() {
+    UpsertDialect dialect = UpsertDialect.POSTGRESQL;
+    assertEquals("INSERT INTO PERSON(ID,NAME,AGE)VALUES",
+          dialect.head("PERSON", COLS, KEYS));
+    assertEquals(" ON CONFLICT(ID) DO UPDATE SET NAME=EXCLUDED.NAME,AGE=EXCLUDED.AGE",
+          dialect.tail(COLS, KEYS));
+  }
+
+  @Test
+  public void postgresql01() {
+    // No non-key columns
+    List<String> cols = List.of("ID", "NAME");
+    List<String> keys = List.of("ID", "NAME");
+    assertEquals(" ON CONFLICT(ID,NAME) DO NOTHING",
+          UpsertDialect.POSTGRESQL.tail(cols, keys));
+  }
+
+  @Test
+  public void mysql00() {
+    UpsertDialect dialect = UpsertDialect.MYSQL;
+    assertEquals("INSERT INTO PERSON(ID,NAME,AGE)VALUES",
+          dialect.head("PERSON", COLS, KEYS));
+    String tail = " AS EXCLUDED ON DUPLICATE KEY UPDATE "
+          + "NAME=EXCLUDED.NAME,AGE=EXCLUDED.AGE";
+    assertEquals(tail, dialect.tail(COLS, KEYS));
+  }
+
+  @Test
+  public void mysql01() {
+    List<String> cols = List.of("ID", "NAME");
+    List<String> keys = List.of("ID", "NAME");
+    assertEquals(" AS EXCLUDED ON DUPLICATE KEY UPDATE ID=ID",
+          UpsertDialect.MYSQL.tail(cols, keys));
+  }
+
+  @Test
+  public void mysqlLegacy00() {
+    UpsertDialect dialect = UpsertDialect.MYSQL_LEGACY;
+    assertEquals("INSERT INTO PERSON(ID,NAME,AGE)VALUES",
+          dialect.head("PERSON", COLS, KEYS));
+    assertEquals(" ON DUPLICATE KEY UPDATE NAME=VALUES(NAME),AGE=VALUES(AGE)",
+          dialect.tail(COLS, KEYS));
+  }
+
+  @Test
+  public void mysqlLegacy01() {
+    List<String> cols = List.of("ID", "NAME");
+    List<String> keys = List.of("ID", "NAME");
+    assertEquals(" ON DUPLICATE KEY UPDATE ID=ID",
+          UpsertDialect.MYSQL_LEGACY.tail(cols, keys));
+  }
+
+  @Test
+  public void forDatabase00() {
+    assertEquals(H2, forDatabase("H2", "2.2.224"));
+    assertEquals(POSTGRESQL, forDatabase("PostgreSQL", "16.1"));
+    assertEquals(MYSQL, forDatabase("MySQL", "8.0.19"));
+    assertEquals(MYSQL, forDatabase("MySQL", "8.4.0-log"));
+    assertEquals(MYSQL_LEGACY, forDatabase("MySQL", "8.0.18"));
+    assertEquals(MYSQL_LEGACY, forDatabase("MySQL", "5.7.44"));
+    // MariaDB accessed through MySQL Connector/J
+    assertEquals(MYSQL_LEGACY, forDatabase("MySQL", "5.5.5-10.6.12-MariaDB"));
+    assertEquals(MYSQL_LEGACY, forDatabase("MariaDB", "11.2.2"));
+    assertNull(forDatabase("Oracle", "23.3"));
+  }
+
+}